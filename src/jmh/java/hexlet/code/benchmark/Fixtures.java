@@ -0,0 +1,108 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.AuthenticatedUser;
+import hexlet.code.dto.TaskView;
+import hexlet.code.dto.TaskView.LabelView;
+import hexlet.code.dto.TaskView.StatusView;
+import hexlet.code.dto.TaskView.UserView;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Objects shared by the benchmarks, built from a fixed seed so every run measures the same data.
+ */
+final class Fixtures {
+    static final long SEED = 42;
+    private static final int STATUSES = 5;
+    private static final int USERS = 20;
+    private static final int LABELS = 10;
+
+    private Fixtures() {
+    }
+
+    static JWTHelper jwtHelper() {
+        return new JWTHelper("proj5", 86400L, 300L, "secret");
+    }
+
+    static Map<String, Object> claims() {
+        return new AuthenticatedUser(1L, "user0@example.com", "first0", "last0").toClaims();
+    }
+
+    // detached tasks with every reference filled in, as a page of the list would be
+    static List<Task> tasks(final int count) {
+        final Random random = new Random(SEED);
+        final List<TaskStatus> statuses = new ArrayList<>();
+        for (long i = 0; i < STATUSES; i++) {
+            final TaskStatus status = new TaskStatus();
+            status.setId(i);
+            status.setName("status" + i);
+            status.setCreatedAt(new Date());
+            statuses.add(status);
+        }
+        final List<User> users = new ArrayList<>();
+        for (long i = 0; i < USERS; i++) {
+            final User user = new User();
+            user.setId(i);
+            user.setFirstName("first" + i);
+            user.setLastName("last" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setCreatedAt(new Date());
+            users.add(user);
+        }
+        final List<Label> labels = new ArrayList<>();
+        for (long i = 0; i < LABELS; i++) {
+            final Label label = new Label("label" + i);
+            label.setId(i);
+            label.setCreatedAt(new Date());
+            labels.add(label);
+        }
+        final List<Task> tasks = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            final Task task = new Task();
+            task.setId(i);
+            task.setName("task" + i);
+            task.setDescription("description of task " + i);
+            task.setTaskStatus(statuses.get(random.nextInt(STATUSES)));
+            task.setAuthor(users.get(random.nextInt(USERS)));
+            task.setExecutor(random.nextBoolean() ? users.get(random.nextInt(USERS)) : null);
+            task.setLabels(new HashSet<>(List.of(labels.get(random.nextInt(LABELS)),
+                    labels.get(random.nextInt(LABELS)))));
+            task.setCreatedAt(new Date());
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    // the same page as the list endpoint reads it, every version at zero
+    static List<TaskView> taskViews(final int count) {
+        return tasks(count).stream()
+                .map(task -> TaskView.builder()
+                        .id(task.getId())
+                        .version(0L)
+                        .name(task.getName())
+                        .description(task.getDescription())
+                        .taskStatus(new StatusView(task.getTaskStatus().getId(), 0L, task.getTaskStatus().getName()))
+                        .author(userView(task.getAuthor()))
+                        .executor(task.getExecutor() == null ? null : userView(task.getExecutor()))
+                        .labels(task.getLabels().stream()
+                                .map(label -> new LabelView(label.getId(), 0L, label.getName()))
+                                .collect(Collectors.toList()))
+                        .createdAt(task.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    private static UserView userView(final User user) {
+        return new UserView(user.getId(), 0L, user.getFirstName(), user.getLastName());
+    }
+}
@@ -0,0 +1,75 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import hexlet.code.component.VerifiedTokenCache;
+import hexlet.code.filter.JWTAuthorizationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * The authorization filter in front of every secured request: reading the header, looking the token up
+ * in the verified token cache and setting the authentication, against a request to a public url it skips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JWTAuthorizationFilterBenchmark {
+    private JWTAuthorizationFilter filter;
+    private MockHttpServletRequest securedRequest;
+    private MockHttpServletRequest publicRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        final JWTHelper jwtHelper = Fixtures.jwtHelper();
+        final RequestMatcher publicUrls = new AntPathRequestMatcher("/api/statuses/**", "GET");
+        filter = new JWTAuthorizationFilter(publicUrls,
+                new VerifiedTokenCache(jwtHelper, new SimpleMeterRegistry(), 10000L));
+
+        securedRequest = new MockHttpServletRequest("GET", "/api/tasks");
+        securedRequest.addHeader(AUTHORIZATION, "Bearer " + jwtHelper.expiring(Fixtures.claims()));
+        publicRequest = new MockHttpServletRequest("GET", "/api/statuses");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void securedRequest(final Blackhole blackhole) throws ServletException, IOException {
+        filter(securedRequest, blackhole);
+    }
+
+    @Benchmark
+    public void publicRequest(final Blackhole blackhole) throws ServletException, IOException {
+        filter(publicRequest, blackhole);
+    }
+
+    // the filter marks a request it has seen, so the mark goes before the next round
+    private void filter(final MockHttpServletRequest request, final Blackhole blackhole)
+            throws ServletException, IOException {
+        final FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext());
+        filter.doFilter(request, response, chain);
+        request.clearAttributes();
+    }
+}
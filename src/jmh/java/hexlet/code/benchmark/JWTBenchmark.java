@@ -0,0 +1,41 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Issuing a token on login and checking its signature on every request without a cached verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JWTBenchmark {
+    private JWTHelper jwtHelper;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtHelper = Fixtures.jwtHelper();
+        claims = Fixtures.claims();
+        token = jwtHelper.expiring(claims);
+    }
+
+    @Benchmark
+    public String expiring() {
+        return jwtHelper.expiring(claims);
+    }
+
+    @Benchmark
+    public Map<String, Object> verify() {
+        return jwtHelper.verify(token);
+    }
+}
@@ -0,0 +1,63 @@
+package hexlet.code.benchmark;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.model.QTask;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.querydsl.SimpleEntityPathResolver;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.querydsl.binding.QuerydslPredicateBuilder;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Turning the query parameters of the task list into a Querydsl predicate, as the argument resolver does
+ * for every request: fresh bindings customized by {@link TaskRepository#customize}, then the predicate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskPredicateBenchmark {
+    private TaskRepository taskRepository;
+    private QuerydslPredicateBuilder predicateBuilder;
+    private MultiValueMap<String, String> parameters;
+
+    @Setup
+    public void setUp() {
+        // only the default customize method is called, a repository without the database is enough
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        };
+        taskRepository = (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[] {TaskRepository.class}, handler);
+        predicateBuilder = new QuerydslPredicateBuilder(DefaultConversionService.getSharedInstance(),
+                SimpleEntityPathResolver.INSTANCE);
+
+        parameters = new LinkedMultiValueMap<>();
+        parameters.add("taskStatus", "2");
+        parameters.add("labels", "1");
+        parameters.add("name", "login");
+    }
+
+    @Benchmark
+    public Predicate predicate() {
+        final QuerydslBindings bindings = new QuerydslBindings();
+        taskRepository.customize(bindings, QTask.task);
+        return predicateBuilder.getPredicate(TypeInformation.of(Task.class), parameters, bindings);
+    }
+}
@@ -0,0 +1,71 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.Task;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Writing a page of tasks as the list endpoint returns it: task views through {@code TaskViewSerializer},
+ * with the object mapper the application configures from its properties.
+ * {@link #serializeEntityPageBaseline} writes the same page as entities, the way the endpoint did before
+ * it read views, and is kept only to compare against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ObjectWriter viewWriter;
+    private ObjectWriter entityWriter;
+    private List<TaskView> page;
+    private List<Task> entityPage;
+
+    @Setup
+    public void setUp() {
+        // only Jackson, configured from application.yml like in the running application
+        context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        final ObjectMapper mapper = context.getBean(ObjectMapper.class);
+        viewWriter = mapper.writerFor(new TypeReference<List<TaskView>>() { });
+        entityWriter = mapper.writerFor(new TypeReference<List<Task>>() { });
+        page = Fixtures.taskViews(pageSize);
+        entityPage = Fixtures.tasks(pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return viewWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeEntityPageBaseline() throws JsonProcessingException {
+        return entityWriter.writeValueAsBytes(entityPage);
+    }
+}
@@ -0,0 +1,93 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.component.DatasetGenerator;
+import hexlet.code.config.security.AuthenticatedUser;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskService;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+
+/**
+ * Creating a task through the service, transaction, counters, history and change feed included,
+ * in the whole application on an embedded H2 seeded by the dataset generator with {@code tasks} tasks.
+ * Thread scoped, the signed in user lives in a thread local.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+    private static final int USERS = 20;
+
+    @Param({"1000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Random random;
+    private List<Long> statusIds;
+    private List<Long> userIds;
+    private List<Long> labelIds;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        random = new Random(Fixtures.SEED);
+        final AuthenticatedUser author = AuthenticatedUser.of(seed());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(author, null, DEFAULT_AUTHORITIES));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public Task createNew() {
+        final TaskDto taskDto = new TaskDto(
+                "benchmark task",
+                "created by the benchmark",
+                statusIds.get(random.nextInt(statusIds.size())),
+                userIds.get(random.nextInt(userIds.size())),
+                List.of(labelIds.get(random.nextInt(labelIds.size()))));
+        return taskService.createNew(taskDto);
+    }
+
+    // the dataset of the load tests, scaled down
+    private User seed() {
+        final DatasetGenerator.Spec spec = new DatasetGenerator.Spec();
+        spec.setSeed(Fixtures.SEED);
+        spec.setUsers(USERS);
+        spec.setTasks(tasks);
+        final DatasetGenerator.Dataset dataset = context.getBean(DatasetGenerator.class).generate(spec);
+        statusIds = dataset.getStatusIds();
+        userIds = dataset.getUserIds();
+        labelIds = dataset.getLabelIds();
+        return context.getBean(UserRepository.class).findById(userIds.get(0)).orElseThrow();
+    }
+}
@@ -2,8 +2,10 @@ package hexlet.code;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AppApplication {
     public static void main(String[] args) {
         SpringApplication.run(AppApplication.class, args);
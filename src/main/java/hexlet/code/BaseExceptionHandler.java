@@ -1,6 +1,7 @@
 package hexlet.code;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import java.util.List;
 import java.util.NoSuchElementException;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
@@ -40,4 +42,10 @@ public class BaseExceptionHandler {
     public String dataIntegrityViolationExceptionHandler(DataIntegrityViolationException ex) {
         return ex.getMessage();
     }
+
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public String optimisticLockingFailureExceptionHandler(OptimisticLockingFailureException ex) {
+        return ex.getMessage();
+    }
 }
@@ -0,0 +1,44 @@
+package hexlet.code;
+
+import hexlet.code.component.DatasetGenerator;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.context.support.StandardServletEnvironment;
+
+/**
+ * Generates the synthetic dataset into the configured database and exits, sizes come from {@code tasks.dataset}.
+ * The generator's own settings take precedence over the config files of every active profile,
+ * only the command line overrides them: no SQL or request logging, no port, and the schema is kept.
+ * Run it once per database: generated users always get the same emails, so a second run into a kept schema
+ * fails before writing anything instead of duplicating them; drop the data or point it at another database.
+ * The application that serves the data afterwards has to keep it too, start it with
+ * {@code --spring.jpa.hibernate.ddl-auto=update}:
+ * {@code ./gradlew generateDataset --args='--spring.profiles.active=dev --tasks.dataset.tasks=100000'}.
+ */
+public final class GenerateDataset {
+    private static final Map<String, Object> SETTINGS = Map.of(
+            "server.port", 0,
+            "spring.jpa.show-sql", false,
+            "spring.jpa.hibernate.ddl-auto", "update",
+            "logging.level.web", "info");
+
+    private GenerateDataset() {
+    }
+
+    public static void main(String[] args) {
+        final StandardServletEnvironment environment = new StandardServletEnvironment();
+        // config files are added below this source, the command line above it
+        environment.getPropertySources().addFirst(new MapPropertySource("datasetGenerator", SETTINGS));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AppApplication.class)
+                .environment(environment)
+                .run(args)) {
+            final DatasetGenerator.Spec spec = Binder.get(context.getEnvironment())
+                    .bind("tasks.dataset", DatasetGenerator.Spec.class)
+                    .orElseGet(DatasetGenerator.Spec::new);
+            context.getBean(DatasetGenerator.class).generate(spec);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.service.TaskCounterService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills the database with a synthetic dataset for benchmarks and load tests: statuses, labels, users
+ * and tasks spread over them the way a real tracker is skewed. A few executors hold most of the tasks,
+ * a few labels are on most of them, and descriptions are mostly short with a long tail up to the column width.
+ * Everything is drawn from one seeded random, so the same spec gives the same data on every run.
+ * Tasks are persisted in chunks, one transaction each, and their inserts go out as JDBC batches.
+ * Generated users sign in as {@code user<n>@example.com} with {@link #PASSWORD}. Emails are not unique
+ * in the schema, so the generator refuses to run against a database that already has such users.
+ */
+@Slf4j
+@Component
+public class DatasetGenerator {
+    public static final String PASSWORD = "password";
+
+    private static final String EMAIL_PREFIX = "user";
+    private static final String EMAIL_DOMAIN = "@example.com";
+
+    // width of the description column
+    private static final int DESCRIPTION_LENGTH = 255;
+    private static final int MAX_LABELS = 3;
+    private static final double UNASSIGNED = 0.2;
+    // the higher the skew, the more picks land on the first items: with 3 the first tenth of the users
+    // executes nearly half of the tasks
+    private static final double EXECUTOR_SKEW = 3;
+    private static final double LABEL_SKEW = 2;
+    private static final double STATUS_SKEW = 1.5;
+    private static final double WORD_SKEW = 2;
+
+    private static final String[] STATUS_NAMES = {
+        "new", "in progress", "review", "testing", "done", "blocked", "on hold", "archived"};
+    private static final String[] LABEL_NAMES = {
+        "bug", "feature", "backend", "frontend", "urgent", "database", "security", "performance",
+        "documentation", "design", "api", "mobile", "infrastructure", "testing", "refactoring", "ux"};
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Boris", "Clara", "Dmitry", "Elena", "Felix", "Galina", "Hugo", "Irina", "Jonas"};
+    private static final String[] LAST_NAMES = {
+        "Ivanova", "Smith", "Petrov", "Garcia", "Novak", "Weber", "Rossi", "Kowalski", "Dubois", "Larsen"};
+    private static final String[] VERBS = {
+        "Fix", "Add", "Update", "Remove", "Refactor", "Investigate", "Document", "Test", "Optimize", "Review"};
+    private static final String[] WORDS = {
+        "login", "page", "user", "report", "search", "export", "import", "cache", "query", "button",
+        "profile", "settings", "email", "notification", "token", "session", "dashboard", "filter", "label",
+        "status", "upload", "download", "payment", "invoice", "migration", "index", "timeout", "error",
+        "layout", "form", "validation", "permission", "role", "api", "endpoint", "response", "request",
+        "database", "schema", "backup", "log", "metric", "alert", "deploy", "build", "pipeline", "test",
+        "screen", "menu", "link", "image", "table", "column", "chart", "password", "account", "team"};
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskChangeSequence taskChangeSequence;
+    private final TaskCounterService taskCounterService;
+
+    public DatasetGenerator(final EntityManager entityManager,
+                            final PlatformTransactionManager transactionManager,
+                            final PasswordEncoder passwordEncoder,
+                            final TaskChangeSequence taskChangeSequence,
+                            final TaskCounterService taskCounterService) {
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.taskChangeSequence = taskChangeSequence;
+        this.taskCounterService = taskCounterService;
+    }
+
+    /**
+     * Generates a dataset and recounts the task counters. The search index picks the tasks up when it is rebuilt.
+     * Fails before writing anything if users of an earlier run are in the database.
+     *
+     * @param spec sizes and seed of the dataset
+     * @return ids of the generated statuses, users and labels
+     */
+    public Dataset generate(final Spec spec) {
+        if (spec.getTasks() > 0 && (spec.getStatuses() == 0 || spec.getUsers() == 0)) {
+            throw new IllegalArgumentException("Tasks need at least one status and one user");
+        }
+        if (spec.getUsers() > 0 && countGeneratedUsers() > 0) {
+            throw new IllegalStateException("The database already holds generated users " + EMAIL_PREFIX + "<n>"
+                    + EMAIL_DOMAIN + ", generating again would duplicate their emails and break their sign in. "
+                    + "Generate into an empty database");
+        }
+        final Random random = new Random(spec.getSeed());
+        final List<Long> statusIds = persistAll(spec.getStatuses(), this::status, TaskStatus::getId);
+        final List<Long> labelIds = persistAll(spec.getLabels(), this::label, Label::getId);
+        // hashing is slow on purpose, every user gets the same hash
+        final String password = passwordEncoder.encode(PASSWORD);
+        final List<Long> userIds = persistAll(spec.getUsers(), index -> user(index, password), User::getId);
+        final Dataset dataset = new Dataset(statusIds, userIds, labelIds, spec.getTasks());
+
+        for (int from = 0; from < spec.getTasks(); from += spec.getChunkSize()) {
+            final int chunkFrom = from;
+            final int chunkTo = Math.min(from + spec.getChunkSize(), spec.getTasks());
+            transaction.executeWithoutResult(status -> persistTasks(random, dataset, chunkFrom, chunkTo, spec));
+            log.info("Generated {} of {} tasks", chunkTo, spec.getTasks());
+        }
+        taskCounterService.reconcile();
+        return dataset;
+    }
+
+    private long countGeneratedUsers() {
+        return entityManager.createQuery("select count(u) from User u where u.email like :pattern", Long.class)
+                .setParameter("pattern", EMAIL_PREFIX + "%" + EMAIL_DOMAIN)
+                .getSingleResult();
+    }
+
+    private <T> List<Long> persistAll(final int count, final IntFunction<T> factory, final Function<T, Long> id) {
+        return transaction.execute(status -> {
+            final List<T> entities = new ArrayList<>(count);
+            for (int index = 0; index < count; index++) {
+                final T entity = factory.apply(index);
+                entityManager.persist(entity);
+                entities.add(entity);
+            }
+            entityManager.flush();
+            return entities.stream().map(id).toList();
+        });
+    }
+
+    private void persistTasks(final Random random, final Dataset dataset, final int from, final int to,
+                              final Spec spec) {
+        final Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(spec.getBatchSize());
+        session.setCacheMode(CacheMode.IGNORE);
+        for (int index = from; index < to; index++) {
+            final Task task = new Task();
+            task.setName(VERBS[random.nextInt(VERBS.length)] + " " + word(random) + " " + word(random));
+            task.setDescription(description(random));
+            task.setTaskStatus(reference(TaskStatus.class, skewed(random, dataset.getStatusIds(), STATUS_SKEW)));
+            task.setAuthor(reference(User.class, dataset.getUserIds().get(random.nextInt(spec.getUsers()))));
+            if (random.nextDouble() >= UNASSIGNED) {
+                task.setExecutor(reference(User.class, skewed(random, dataset.getUserIds(), EXECUTOR_SKEW)));
+            }
+            final Set<Label> labels = new HashSet<>();
+            final int labelCount = dataset.getLabelIds().isEmpty() ? 0 : random.nextInt(MAX_LABELS + 1);
+            for (int count = 0; count < labelCount; count++) {
+                labels.add(reference(Label.class, skewed(random, dataset.getLabelIds(), LABEL_SKEW)));
+            }
+            task.setLabels(labels);
+            task.setChangeSeq(taskChangeSequence.next());
+            entityManager.persist(task);
+        }
+        // the chunk leaves the persistence context, so memory stays flat however many tasks there are
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private <T> T reference(final Class<T> type, final Long id) {
+        return entityManager.getReference(type, id);
+    }
+
+    private TaskStatus status(final int index) {
+        final TaskStatus status = new TaskStatus();
+        status.setName(nameOf(STATUS_NAMES, index));
+        return status;
+    }
+
+    private Label label(final int index) {
+        return new Label(nameOf(LABEL_NAMES, index));
+    }
+
+    private User user(final int index, final String password) {
+        final User user = new User();
+        user.setFirstName(FIRST_NAMES[index % FIRST_NAMES.length]);
+        user.setLastName(LAST_NAMES[index / FIRST_NAMES.length % LAST_NAMES.length]);
+        user.setEmail(EMAIL_PREFIX + index + EMAIL_DOMAIN);
+        user.setPassword(password);
+        return user;
+    }
+
+    // log-normal number of words: a dozen for most tasks, a few fill the whole column
+    private static String description(final Random random) {
+        final int words = (int) Math.exp(random.nextGaussian() + 2.5);
+        final StringBuilder description = new StringBuilder();
+        for (int count = 0; count < words; count++) {
+            final String word = word(random);
+            if (description.length() + word.length() + 1 > DESCRIPTION_LENGTH) {
+                break;
+            }
+            description.append(count == 0 ? "" : " ").append(word);
+        }
+        return description.toString();
+    }
+
+    // words follow the same skew as executors, so some search terms match far more tasks than others
+    private static String word(final Random random) {
+        return WORDS[skewedIndex(random, WORDS.length, WORD_SKEW)];
+    }
+
+    private static Long skewed(final Random random, final List<Long> ids, final double skew) {
+        return ids.get(skewedIndex(random, ids.size(), skew));
+    }
+
+    private static int skewedIndex(final Random random, final int size, final double skew) {
+        return (int) (size * Math.pow(random.nextDouble(), skew));
+    }
+
+    // names repeat with a number once the list runs out, they stay unique
+    private static String nameOf(final String[] names, final int index) {
+        final String name = names[index % names.length];
+        return index < names.length ? name : name + " " + (index / names.length + 1);
+    }
+
+    /**
+     * Sizes and seed of a dataset, bound from {@code tasks.dataset} by the command line generator.
+     */
+    @Getter
+    @Setter
+    public static class Spec {
+        private long seed = 42;
+        private int statuses = 8;
+        private int labels = 50;
+        private int users = 1000;
+        private int tasks = 1_000_000;
+        private int chunkSize = 5000;
+        private int batchSize = 500;
+    }
+
+    /**
+     * What was generated, for callers that go on to use the data.
+     */
+    @Value
+    public static class Dataset {
+        List<Long> statusIds;
+        List<Long> userIds;
+        List<Long> labelIds;
+        int taskCount;
+    }
+}
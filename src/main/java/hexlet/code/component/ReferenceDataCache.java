@@ -0,0 +1,86 @@
+package hexlet.code.component;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import javax.cache.CacheManager;
+import org.hibernate.Cache;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Second-level cache of task statuses and labels.
+ * Writes through Hibernate keep the regions consistent by themselves, the explicit eviction here
+ * drops an entry and the cached {@code findAll} lists once the changing transaction has committed,
+ * so nothing stale survives a rollback or a write that bypassed the entity.
+ * Hit and miss counts come from Hibernate statistics, this class adds the size of every region.
+ */
+@Component
+public class ReferenceDataCache {
+
+    public static final String SIZE_METRIC = "hibernate.second.level.cache.size";
+    private static final List<String> REGIONS = List.of(TaskStatus.CACHE_REGION, Label.CACHE_REGION);
+
+    private final Cache cache;
+
+    public ReferenceDataCache(final EntityManagerFactory entityManagerFactory, final MeterRegistry meterRegistry) {
+        final SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cache = sessionFactory.getCache();
+        bindSizeGauges(sessionFactory.getCache().getRegionFactory(), meterRegistry);
+    }
+
+    public void evictTaskStatus(final Long id) {
+        afterCommit(() -> {
+            cache.evictEntityData(TaskStatus.class, id);
+            cache.evictDefaultQueryRegion();
+        });
+    }
+
+    public void evictLabel(final Long id) {
+        afterCommit(() -> {
+            cache.evictEntityData(Label.class, id);
+            cache.evictDefaultQueryRegion();
+        });
+    }
+
+    // caching switched off means no JCache regions, so there is nothing to measure
+    private static void bindSizeGauges(final RegionFactory regionFactory, final MeterRegistry meterRegistry) {
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return;
+        }
+        final CacheManager cacheManager = jcache.getCacheManager();
+        for (String region : REGIONS) {
+            Gauge.builder(SIZE_METRIC, cacheManager, manager -> estimatedSize(manager, region))
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static double estimatedSize(final CacheManager cacheManager, final String region) {
+        final javax.cache.Cache<Object, Object> regionCache = cacheManager.getCache(region);
+        if (regionCache == null) {
+            return 0;
+        }
+        return regionCache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    private static void afterCommit(final Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,219 @@
+package hexlet.code.component;
+
+import hexlet.code.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed task changes to server-sent event subscribers.
+ * An idle subscriber holds no thread, only an async request. Every subscriber has a bounded buffer that
+ * a small pool of senders drains; a subscriber whose buffer overflows is dropped and has to reconnect.
+ * The last changes are kept in a ring, so a reconnecting client resumes after its Last-Event-ID.
+ * When the changes it missed are no longer in the ring, the client gets a {@value #RESET_EVENT} event instead
+ * and should reload the tasks.
+ */
+@Slf4j
+@Component
+public class TaskChangeFeed {
+    public static final String RESET_EVENT = "reset";
+    private static final Change HEARTBEAT = new Change(0, null);
+
+    private final int bufferSize;
+    private final int ringSize;
+    private final long timeoutMillis;
+    private final ThreadPoolTaskExecutor senders;
+    private final Counter evicted;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // guarded by itself, also orders publishing against subscribing so a resume has no gap
+    private final Deque<Change> ring = new ArrayDeque<>();
+    private long lastSequence;
+
+    public TaskChangeFeed(final MeterRegistry meterRegistry,
+                          @Value("${tasks.stream.buffer-size:256}") final int bufferSize,
+                          @Value("${tasks.stream.ring-size:256}") final int ringSize,
+                          @Value("${tasks.stream.timeout:PT30M}") final Duration timeout,
+                          @Value("${tasks.stream.senders:2}") final int senderCount) {
+        this.bufferSize = bufferSize;
+        this.ringSize = ringSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(senderCount);
+        senders.setMaxPoolSize(senderCount);
+        senders.setThreadNamePrefix("task-stream-");
+        senders.initialize();
+        Gauge.builder("tasks.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        this.evicted = Counter.builder("tasks.stream.evicted")
+                .description("Subscribers dropped for not keeping up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of task changes.
+     *
+     * @param lastEventId id of the last event the client got before reconnecting, or null for a new stream
+     * @return emitter sending changes committed from now on, after the ones missed since lastEventId
+     */
+    public SseEmitter subscribe(final Long lastEventId) {
+        final Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+        synchronized (ring) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(final TaskChangedEvent event) {
+        synchronized (ring) {
+            final Change change = new Change(++lastSequence, event);
+            ring.addLast(change);
+            if (ring.size() > ringSize) {
+                ring.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(change));
+        }
+    }
+
+    // keeps proxies from closing idle streams and finds clients that went away
+    @Scheduled(fixedDelayString = "${tasks.stream.heartbeat-interval:PT15S}",
+            initialDelayString = "${tasks.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List.copyOf(subscribers).forEach(Subscriber::close);
+        senders.shutdown();
+    }
+
+    // called under the ring lock
+    private void replay(final Subscriber subscriber, final long lastEventId) {
+        final long missed = lastSequence - lastEventId;
+        if (missed == 0) {
+            return;
+        }
+        final boolean inRing = missed > 0 && !ring.isEmpty() && ring.getFirst().sequence <= lastEventId + 1;
+        if (!inRing || missed > bufferSize) {
+            subscriber.offer(new Change(lastSequence, null));
+            return;
+        }
+        ring.stream()
+                .filter(change -> change.sequence > lastEventId)
+                .forEach(subscriber::offer);
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(final Change change) {
+        if (change == HEARTBEAT) {
+            return SseEmitter.event().comment("");
+        }
+        final SseEmitter.SseEventBuilder event = SseEmitter.event().id(String.valueOf(change.sequence));
+        if (change.event == null) {
+            return event.name(RESET_EVENT).data("");
+        }
+        return event.name(change.event.getType().name().toLowerCase(Locale.ROOT))
+                .data(change.event, MediaType.APPLICATION_JSON);
+    }
+
+    // numbered task change, one without an event tells the client its missed changes are lost
+    private static final class Change {
+        private final long sequence;
+        private final TaskChangedEvent event;
+
+        Change(final long sequence, final TaskChangedEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // guarded by this
+        private final Queue<Change> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(final SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(final Change change) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= bufferSize) {
+                    log.debug("Dropping a task stream subscriber with {} changes pending", pending.size());
+                    evicted.increment();
+                    closeLocked();
+                    return;
+                }
+                pending.add(change);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        // at most one drain per subscriber runs at a time, so events go out in order
+        private void drain() {
+            while (true) {
+                final Change next;
+                synchronized (this) {
+                    next = closed ? null : pending.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(toEvent(next));
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        synchronized void close() {
+            closeLocked();
+        }
+
+        private void closeLocked() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            subscribers.remove(this);
+            // completing waits for a send in progress, never do that on the publishing thread
+            senders.execute(emitter::complete);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package hexlet.code.component;
+
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Numbers task changes. Every created, updated or deleted task takes the next number, stored with the task
+ * or with its tombstone, so clients can ask for everything changed after the number they have seen.
+ * Numbers are handed out in memory and seeded from the database at startup, so a single application
+ * instance is assumed, as for the search index and the change feed.
+ * Commit order may differ from numbering order, so the watermark stops below the lowest number whose
+ * transaction has not finished: a reader never moves past a change that may still commit.
+ */
+@Component
+public class TaskChangeSequence {
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    // guarded by this
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long last;
+
+    public TaskChangeSequence(final TaskRepository taskRepository,
+                              final TaskTombstoneRepository taskTombstoneRepository) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+    }
+
+    @PostConstruct
+    public synchronized void seed() {
+        last = Math.max(taskRepository.findMaxChangeSeq(), taskTombstoneRepository.findMaxChangeSeq());
+    }
+
+    /**
+     * Takes the next number for a change made by the current transaction.
+     *
+     * @return change sequence number
+     */
+    public long next() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Task changes are numbered inside a transaction only");
+        }
+        final long sequence;
+        synchronized (this) {
+            sequence = ++last;
+            inFlight.add(sequence);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                release(sequence);
+            }
+        });
+        return sequence;
+    }
+
+    /**
+     * Highest number up to which every change is either committed or rolled back.
+     *
+     * @return watermark safe to read up to
+     */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void release(final long sequence) {
+        inFlight.remove(sequence);
+    }
+}
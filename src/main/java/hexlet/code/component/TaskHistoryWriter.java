@@ -0,0 +1,160 @@
+package hexlet.code.component;
+
+import hexlet.code.model.TaskHistoryEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Appends task history off the request path. Entries of a committed transaction go to a bounded queue,
+ * a single writer thread takes them out and inserts them in JDBC batches.
+ * A full queue holds the committing thread for at most the offer timeout per transaction, so a slow database
+ * slows writers down instead of growing memory; entries that still find no room are dropped and counted.
+ * On shutdown the writer stops taking new entries and flushes what is queued.
+ */
+@Slf4j
+@Component
+public class TaskHistoryWriter {
+    private static final String INSERT_SQL = "insert into " + TaskHistoryEntry.TABLE
+            + " (task_id, attribute, old_value, new_value, actor_id, changed_at) values (?, ?, ?, ?, ?, ?)";
+    private static final long POLL_MILLIS = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<TaskHistoryEntry> queue;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final Counter written;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public TaskHistoryWriter(final JdbcTemplate jdbcTemplate,
+                             final MeterRegistry meterRegistry,
+                             @Value("${tasks.history.queue-capacity:10000}") final int queueCapacity,
+                             @Value("${tasks.history.batch-size:500}") final int batchSize,
+                             @Value("${tasks.history.offer-timeout:PT1S}") final Duration offerTimeout,
+                             @Value("${tasks.history.shutdown-timeout:PT10S}") final Duration shutdownTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        Gauge.builder("tasks.history.queued", queue, BlockingQueue::size).register(meterRegistry);
+        this.written = Counter.builder("tasks.history.written").register(meterRegistry);
+        this.dropped = Counter.builder("tasks.history.dropped")
+                .description("History entries lost to a full queue or a failed insert")
+                .register(meterRegistry);
+        this.writer = new Thread(this::run, "task-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues entries once the current transaction commits; nothing is recorded if it rolls back.
+     *
+     * @param entries changes of tasks made by the current transaction
+     */
+    public void append(final List<TaskHistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entries);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(entries);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeout.toMillis());
+        if (!queue.isEmpty()) {
+            log.warn("Task history writer stopped with {} entries not written", queue.size());
+        }
+    }
+
+    // one wait for the whole transaction: once it is used up, everything left of it is dropped at once
+    private void enqueue(final List<TaskHistoryEntry> entries) {
+        final long deadline = System.nanoTime() + offerTimeoutNanos;
+        for (int index = 0; index < entries.size(); index++) {
+            try {
+                final long remaining = Math.max(deadline - System.nanoTime(), 0);
+                if (!running || !queue.offer(entries.get(index), remaining, TimeUnit.NANOSECONDS)) {
+                    dropped.increment(entries.size() - index);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment(entries.size() - index);
+                return;
+            }
+        }
+    }
+
+    private void run() {
+        final List<TaskHistoryEntry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            final TaskHistoryEntry first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(final List<TaskHistoryEntry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+                statement.setLong(1, entry.getTaskId());
+                statement.setString(2, entry.getAttribute().name());
+                statement.setString(3, entry.getOldValue());
+                statement.setString(4, entry.getNewValue());
+                if (entry.getActorId() == null) {
+                    statement.setNull(5, Types.BIGINT);
+                } else {
+                    statement.setLong(5, entry.getActorId());
+                }
+                statement.setTimestamp(6, new Timestamp(entry.getChangedAt().getTime()));
+            });
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.error("Could not write {} task history entries", batch.size(), e);
+            dropped.increment(batch.size());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package hexlet.code.component;
+
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Inverted index over task names and descriptions, kept in memory.
+ * Built from the database at startup and updated after every committed task change.
+ * The rebuild runs while requests already change tasks, so it may read a row an event has since replaced:
+ * every indexed or removed task keeps its change sequence, and anything older than that is ignored.
+ * Until the first rebuild is done the index is not ready, searching it would miss tasks.
+ * A query term matches every indexed word it is a prefix of; all terms must match.
+ * Tasks are ranked by tf-idf, words of the name weigh more than words of the description.
+ */
+@Component
+public class TaskSearchIndex {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    // word -> task id -> weighted number of occurrences
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    // task id -> its words, to take them out of postings on update and delete
+    private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    // task id -> change sequence of what is indexed for it, deletions included; guarded by this
+    private final Map<Long, Long> changeSeqs = new HashMap<>();
+    private volatile boolean ready;
+
+    public TaskSearchIndex(final TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuild(REBUILD_CHUNK_SIZE, () -> { });
+    }
+
+    // each chunk is read on its own, afterRead runs between reading a chunk and indexing it
+    void rebuild(final int chunkSize, final Runnable afterRead) {
+        long afterId = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = taskRepository.findSearchableAfter(afterId, PageRequest.ofSize(chunkSize));
+            afterRead.run();
+            for (Object[] row : chunk) {
+                final Long changeSeq = (Long) row[3];
+                index((Long) row[0], (String) row[1], (String) row[2], changeSeq == null ? 0 : changeSeq);
+            }
+            afterId = chunk.isEmpty() ? afterId : (Long) chunk.get(chunk.size() - 1)[0];
+        } while (chunk.size() == chunkSize);
+        ready = true;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(final TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            remove(event.getId(), event.getChangeSeq());
+        } else {
+            index(event.getId(), event.getName(), event.getDescription(), event.getChangeSeq());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds tasks matching every term of the query.
+     *
+     * @param query words to look for
+     * @return ids of all matching tasks, best ranked first
+     */
+    public List<Long> search(final String query) {
+        final Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Double> scores = null;
+        for (String term : terms) {
+            final Map<Long, Double> termScores = score(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    synchronized void index(final Long id, final String name, final String description, final long changeSeq) {
+        if (!advance(id, changeSeq)) {
+            return;
+        }
+        unindex(id);
+        final Map<String, Integer> words = new HashMap<>();
+        tokenize(name).forEach(word -> words.merge(word, NAME_WEIGHT, Integer::sum));
+        tokenize(description).forEach(word -> words.merge(word, DESCRIPTION_WEIGHT, Integer::sum));
+        words.forEach((word, weight) ->
+                postings.computeIfAbsent(word, key -> new ConcurrentHashMap<>()).put(id, weight));
+        documents.put(id, words);
+    }
+
+    synchronized void remove(final Long id, final long changeSeq) {
+        if (advance(id, changeSeq)) {
+            unindex(id);
+        }
+    }
+
+    // called under the lock: false when the task is already indexed or removed as of this change or a later one
+    private boolean advance(final Long id, final long changeSeq) {
+        final Long seen = changeSeqs.get(id);
+        if (seen != null && seen >= changeSeq) {
+            return false;
+        }
+        changeSeqs.put(id, changeSeq);
+        return true;
+    }
+
+    private void unindex(final Long id) {
+        final Map<String, Integer> words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        words.keySet().forEach(word -> postings.computeIfPresent(word, (key, tasks) -> {
+            tasks.remove(id);
+            return tasks.isEmpty() ? null : tasks;
+        }));
+    }
+
+    private Map<Long, Double> score(final String term) {
+        final Map<Long, Double> scores = new HashMap<>();
+        final double total = Math.max(documents.size(), 1);
+        final NavigableMap<String, Map<Long, Integer>> matching =
+                postings.subMap(term, true, term + Character.MAX_VALUE, true);
+        matching.values().forEach(tasks -> {
+            final double idf = Math.log(1 + total / tasks.size());
+            tasks.forEach((id, weight) -> scores.merge(id, weight * idf, Double::sum));
+        });
+        return scores;
+    }
+
+    private static List<String> tokenize(final String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase()))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
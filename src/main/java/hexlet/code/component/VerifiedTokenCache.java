@@ -0,0 +1,91 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import static io.jsonwebtoken.Claims.EXPIRATION;
+
+/**
+ * Keeps claims of already verified tokens, so a repeated token skips parsing and signature check.
+ * Entries are keyed by SHA-256 of the token and expire together with the token itself.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "jwt.verified";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final JWTHelper jwtHelper;
+    private final Cache<String, Map<String, Object>> verified;
+
+    @Autowired
+    public VerifiedTokenCache(final JWTHelper jwtHelper,
+                              final MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.maximum-size:10000}") final Long maximumSize) {
+        this(jwtHelper, meterRegistry, maximumSize, Ticker.systemTicker());
+    }
+
+    // the ticker is what moves entries towards expiration, tests pass their own
+    VerifiedTokenCache(final JWTHelper jwtHelper,
+                       final MeterRegistry meterRegistry,
+                       final Long maximumSize,
+                       final Ticker ticker) {
+        this.jwtHelper = jwtHelper;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiration())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CACHE_NAME);
+    }
+
+    public Map<String, Object> verify(final String token) {
+        return verified.get(digest(token), key -> Map.copyOf(jwtHelper.verify(token)));
+    }
+
+    private static String digest(final String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance(DIGEST_ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class UntilTokenExpiration implements Expiry<String, Map<String, Object>> {
+        @Override
+        public long expireAfterCreate(final String key, final Map<String, Object> claims, final long currentTime) {
+            if (!(claims.get(EXPIRATION) instanceof Number expiresAtSec)) {
+                return Long.MAX_VALUE;
+            }
+            final long leftMillis = TimeUnit.SECONDS.toMillis(expiresAtSec.longValue()) - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(leftMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Map<String, Object> claims,
+                                      final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Map<String, Object> claims,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package hexlet.code.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
-import javax.sql.DataSource;
 import java.net.URI;
 import java.net.URISyntaxException;
 
+/**
+ * Production pool over the Postgres database given by DATABASE_URL.
+ * Everything else, from pool size and timeouts to the driver's statement cache, is bound from
+ * {@code spring.datasource.hikari}. The pool reports to Micrometer under {@code hikaricp.connections.*}:
+ * acquire and usage times, active, idle and pending connections and acquire timeouts.
+ */
 @Configuration
 @Profile("prod")
 public class DataSourceConfig {
@@ -17,7 +25,8 @@ public class DataSourceConfig {
     private String dbUrl;
 
     @Bean
-    public DataSource dataSource() throws URISyntaxException {
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(final MeterRegistry meterRegistry) throws URISyntaxException {
         URI uri = new URI(dbUrl);
 
         String username = uri.getUserInfo().split(":")[0];
@@ -28,6 +37,8 @@ public class DataSourceConfig {
         dataSource.setJdbcUrl(dbUrlJDBC);
         dataSource.setUsername(username);
         dataSource.setPassword(password);
+        // set before the pool starts, metrics cannot be attached to a running pool
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
 
         return dataSource;
     }
@@ -0,0 +1,63 @@
+package hexlet.code.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Opens connections of read-only transactions on the replica and all others on the primary,
+ * as {@link ReplicaRouter} decides. A replica that fails to give a connection sends the read to the primary.
+ * Has to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before the transaction is marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final ReplicaRouter router;
+
+    public ReadWriteRoutingDataSource(final DataSource primary, final ReplicaRouter router) {
+        this.primary = primary;
+        this.router = router;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!router.routeToReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            return router.getReplica().getConnection();
+        } catch (SQLException e) {
+            router.replicaFailed(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        if (!router.routeToReplica()) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return router.getReplica().getConnection(username, password);
+        } catch (SQLException e) {
+            router.replicaFailed(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    // pool metrics and health look through to the primary
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
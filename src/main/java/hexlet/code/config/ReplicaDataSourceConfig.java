@@ -0,0 +1,61 @@
+package hexlet.code.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Splits reads from writes when {@code tasks.datasource.replica.jdbc-url} is set.
+ * The data source of the active profile stays the primary and gets wrapped, so prod, dev and tests all work
+ * the same way; the replica pool is bound from {@code tasks.datasource.replica}, like the primary one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    private static final String REPLICA_PREFIX = "tasks.datasource.replica";
+
+    @Bean
+    public ReplicaRouter replicaRouter(
+            final Environment environment,
+            final MeterRegistry meterRegistry,
+            @Value("${tasks.datasource.replica.lag-query}") final String lagQuery,
+            @Value("${tasks.datasource.replica.max-lag:PT5S}") final Duration maxLag,
+            @Value("${tasks.datasource.replica.sticky-window:PT5S}") final Duration stickyWindow) {
+        return new ReplicaRouter(replicaPool(environment), meterRegistry, lagQuery, maxLag, stickyWindow);
+    }
+
+    @Bean
+    public static BeanPostProcessor readWriteSplitting(final ObjectProvider<ReplicaRouter> replicaRouter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                return new LazyConnectionDataSourceProxy(
+                        new ReadWriteRoutingDataSource(primary, replicaRouter.getObject()));
+            }
+        };
+    }
+
+    // not a bean, a second DataSource bean would switch off the auto-configured primary
+    private static HikariDataSource replicaPool(final Environment environment) {
+        final HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("tasks-replica");
+        replica.setReadOnly(true);
+        Binder.get(environment).bind(REPLICA_PREFIX, Bindable.ofInstance(replica));
+        return replica;
+    }
+}
@@ -0,0 +1,166 @@
+package hexlet.code.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Decides whether a connection may come from the replica.
+ * Only read-only transactions go there, and only while the replica is reachable and its measured lag is
+ * within {@code max-lag}. A user who committed a write reads from the primary for {@code sticky-window}
+ * afterwards, and so does the rest of the request that wrote, so nobody reads older data than they wrote.
+ */
+@Slf4j
+public class ReplicaRouter {
+    public static final String ROUTED_METRIC = "tasks.datasource.routed";
+    private static final String WROTE_ATTRIBUTE = ReplicaRouter.class.getName() + ".WROTE";
+
+    private final HikariDataSource replica;
+    private final JdbcTemplate lagQuery;
+    private final String lagSql;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter routedToPrimary;
+    private final Counter routedToReplica;
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaRouter(final HikariDataSource replica,
+                         final MeterRegistry meterRegistry,
+                         final String lagSql,
+                         final Duration maxLag,
+                         final Duration stickyWindow) {
+        this.replica = replica;
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        this.lagQuery = new JdbcTemplate(replica);
+        this.lagSql = lagSql;
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .build();
+        Gauge.builder("tasks.datasource.replica.lag", this, router -> router.lagSeconds)
+                .description("Seconds the replica is behind the primary, NaN while it is unreachable")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.routedToPrimary = Counter.builder(ROUTED_METRIC).tag("target", "primary").register(meterRegistry);
+        this.routedToReplica = Counter.builder(ROUTED_METRIC).tag("target", "replica").register(meterRegistry);
+        checkLag();
+    }
+
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Picks the pool for a connection about to be opened in the current transaction.
+     *
+     * @return true for the replica, false for the primary
+     */
+    public boolean routeToReplica() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaUsable && !wroteRecently()) {
+            routedToReplica.increment();
+            return true;
+        }
+        routedToPrimary.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterOnCommit();
+        }
+        return false;
+    }
+
+    /**
+     * Stops routing to the replica until the next lag check finds it reachable.
+     *
+     * @param e why a replica connection could not be opened
+     */
+    public void replicaFailed(final Exception e) {
+        if (replicaUsable) {
+            log.warn("Replica is unreachable, reading from the primary", e);
+        }
+        replicaUsable = false;
+        lagSeconds = Double.NaN;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.datasource.replica.lag-check-interval:PT1S}")
+    public void checkLag() {
+        final Double lag;
+        try {
+            lag = lagQuery.queryForObject(lagSql, Double.class);
+        } catch (DataAccessException e) {
+            replicaFailed(e);
+            return;
+        }
+        lagSeconds = lag == null ? 0 : lag;
+        final boolean usable = lagSeconds <= maxLag.toMillis() / 1000.0;
+        if (usable != replicaUsable) {
+            log.info("Replica is {} seconds behind, reads go to the {}", lagSeconds, usable ? "replica" : "primary");
+        }
+        replicaUsable = usable;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replica.close();
+    }
+
+    private boolean wroteRecently() {
+        final RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        final String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    // registered at most once per transaction, a write transaction may open several connections
+    private void rememberWriterOnCommit() {
+        if (TransactionSynchronizationManager.hasResource(WROTE_ATTRIBUTE)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WROTE_ATTRIBUTE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                final RequestAttributes request = RequestContextHolder.getRequestAttributes();
+                if (request != null) {
+                    request.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                }
+                final String user = currentUser();
+                if (user != null) {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WROTE_ATTRIBUTE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
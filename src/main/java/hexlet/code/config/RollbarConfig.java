@@ -11,13 +11,17 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 
+/**
+ * Errors reach Rollbar through {@link hexlet.code.reporting.ErrorReporter}, off the request thread.
+ * The exception resolver of com.rollbar.spring is not scanned, it would report on the request thread.
+ */
 @Configuration()
 @EnableWebMvc
 @ComponentScan({
 
 // UPDATE TO YOUR PROJECT PACKAGE
     "hexlet.code.config",
-    "com.rollbar.spring"
+    "hexlet.code.reporting"
 
 })
 public class RollbarConfig {
@@ -0,0 +1,41 @@
+package hexlet.code.config;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs request handling on virtual threads when {@code tasks.virtual-threads.enabled} is set.
+ * Tomcat hands every request, and MVC every async body such as the export stream, to a new virtual thread.
+ * A request blocked on JDBC parks its virtual thread instead of holding a worker, so Tomcat's thread pool
+ * no longer caps concurrency: the Hikari pool size and its connection timeout are the actual limit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements WebMvcConfigurer {
+    private final ExecutorService virtualThreads =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-", 0).factory());
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreads);
+    }
+
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        virtualThreads.shutdown();
+    }
+}
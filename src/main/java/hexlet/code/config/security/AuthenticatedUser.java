@@ -0,0 +1,64 @@
+package hexlet.code.config.security;
+
+import hexlet.code.model.User;
+import java.security.Principal;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+
+/**
+ * Principal of a request authorized by JWT. Everything is taken from the token claims,
+ * so reading the current user never touches the database.
+ * Tokens issued before the id was added to the claims give no principal.
+ */
+@Value
+public class AuthenticatedUser implements Principal {
+
+    public static final String ID_CLAIM = "id";
+    public static final String FIRST_NAME_CLAIM = "firstName";
+    public static final String LAST_NAME_CLAIM = "lastName";
+
+    Long id;
+    String email;
+    String firstName;
+    String lastName;
+
+    public static AuthenticatedUser of(final User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName());
+    }
+
+    public static Optional<AuthenticatedUser> fromClaims(final Map<String, Object> claims) {
+        if (!(claims.get(SPRING_SECURITY_FORM_USERNAME_KEY) instanceof String username)
+                || !(claims.get(ID_CLAIM) instanceof Number userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuthenticatedUser(
+                userId.longValue(),
+                username,
+                (String) claims.get(FIRST_NAME_CLAIM),
+                (String) claims.get(LAST_NAME_CLAIM)
+        ));
+    }
+
+    public static AuthenticatedUser current() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (AuthenticatedUser) authentication.getPrincipal();
+    }
+
+    public Map<String, Object> toClaims() {
+        return Map.of(
+                SPRING_SECURITY_FORM_USERNAME_KEY, email,
+                ID_CLAIM, id,
+                FIRST_NAME_CLAIM, firstName,
+                LAST_NAME_CLAIM, lastName
+        );
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,10 +1,12 @@
 package hexlet.code.config.security;
 
 import hexlet.code.component.JWTHelper;
+import hexlet.code.component.VerifiedTokenCache;
 import hexlet.code.filter.JWTAuthenticationFilter;
 import hexlet.code.filter.JWTAuthorizationFilter;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -37,12 +39,15 @@ public class SecurityConfig {
     public static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("USER"));
 
     private final JWTHelper jwtHelper;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final RequestMatcher loginRequest;
     private final RequestMatcher publicUrls;
 
     public SecurityConfig(@Value("${base-url}") final String baseUrl,
-                          final JWTHelper jwtHelper) {
+                          final JWTHelper jwtHelper,
+                          final VerifiedTokenCache verifiedTokenCache) {
         this.jwtHelper = jwtHelper;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.loginRequest = new AntPathRequestMatcher(baseUrl + LOGIN, POST.toString());
         this.publicUrls = new OrRequestMatcher(
                 loginRequest,
@@ -50,6 +55,7 @@ public class SecurityConfig {
                 new AntPathRequestMatcher(baseUrl + USER_CONTROLLER_PATH, GET.toString()),
                 new AntPathRequestMatcher(baseUrl + STATUS_CONTROLLER_PATH + "/**", GET.toString()),
                 //new AntPathRequestMatcher(baseUrl + LABEL_CONTROLLER_PATH + "/**", GET.toString()),
+                EndpointRequest.toAnyEndpoint(),
                 new NegatedRequestMatcher(new AntPathRequestMatcher(baseUrl + "/**"))
         );
     }
@@ -81,7 +87,7 @@ public class SecurityConfig {
                     )
             )
             .addFilterBefore(
-                    new JWTAuthorizationFilter(publicUrls, jwtHelper),
+                    new JWTAuthorizationFilter(publicUrls, verifiedTokenCache),
                     UsernamePasswordAuthenticationFilter.class
             )
             .formLogin(AbstractHttpConfigurer::disable)
@@ -0,0 +1,16 @@
+package hexlet.code.config.security;
+
+import lombok.Getter;
+import org.springframework.security.core.userdetails.User;
+import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+
+@Getter
+public class SecurityUser extends User {
+
+    private final AuthenticatedUser profile;
+
+    public SecurityUser(final hexlet.code.model.User user) {
+        super(user.getEmail(), user.getPassword(), DEFAULT_AUTHORITIES);
+        this.profile = AuthenticatedUser.of(user);
+    }
+}
@@ -0,0 +1,84 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.BoardColumn;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.service.TaskCounterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import static hexlet.code.controller.BoardController.BOARD_CONTROLLER_PATH;
+
+@RestController
+@RequestMapping("${base-url}" + BOARD_CONTROLLER_PATH)
+@AllArgsConstructor
+public class BoardController {
+    public static final String BOARD_CONTROLLER_PATH = "/board";
+    private static final String DEFAULT_COLUMN_SIZE = "10";
+    private static final int MAX_COLUMN_SIZE = 100;
+
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
+
+    @Operation(summary = "Get the board: every task status with its first tasks",
+            description = "Tasks of a column are ordered by creation time. To load more of a column, pass its "
+                    + "nextCursor to GET /tasks with taskStatus set to the column status")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Board got",
+            content = {
+                @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = BoardColumn.class)))
+            }
+    )
+    @Transactional(readOnly = true)
+    @GetMapping
+    public List<BoardColumn> getBoard(
+            @RequestParam(defaultValue = DEFAULT_COLUMN_SIZE)
+            @Parameter(description = "Number of tasks per column") int size) {
+        final int limit = Math.min(Math.max(size, 1), MAX_COLUMN_SIZE);
+        final Map<Long, Long> totals = taskCounterService.getCountsByStatus();
+        final List<TaskStatus> statuses = taskStatusRepository.findAll().stream()
+                .sorted(Comparator.comparing(TaskStatus::getId))
+                .toList();
+        // one extra task per column tells whether the column goes on
+        final Map<Long, List<TaskView>> tasksByStatus = taskRepository
+                .findFirstViewsPerStatus(statuses.stream().map(TaskStatus::getId).toList(), limit + 1).stream()
+                .collect(Collectors.groupingBy(task -> task.getTaskStatus().getId()));
+
+        return statuses.stream()
+                .map(status -> toColumn(status, tasksByStatus.getOrDefault(status.getId(), List.of()),
+                        totals.getOrDefault(status.getId(), 0L), limit))
+                .toList();
+    }
+
+    private static BoardColumn toColumn(final TaskStatus status,
+                                        final List<TaskView> tasks,
+                                        final long total,
+                                        final int limit) {
+        if (tasks.size() <= limit) {
+            return new BoardColumn(status.getId(), status.getName(), total, tasks, null);
+        }
+        final List<TaskView> page = tasks.subList(0, limit);
+        return new BoardColumn(status.getId(), status.getName(), total, page,
+                TaskCursor.of(page.get(limit - 1)).encode());
+    }
+}
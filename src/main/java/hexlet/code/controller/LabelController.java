@@ -24,6 +24,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -69,6 +70,7 @@ public class LabelController {
                             array = @ArraySchema(schema = @Schema(implementation = Label.class)))
             }
     )
+    @Transactional(readOnly = true)
     @GetMapping
     public List<Label> getAll() {
         return labelRepository.findAll();
@@ -88,6 +90,7 @@ public class LabelController {
             ),
         @ApiResponse(responseCode = "404", description = "Label with given id not found")
     })
+    @Transactional(readOnly = true)
     @GetMapping(ID)
     public Label getById(@PathVariable @Parameter(description = "Id of label to get") final Long id) {
         return labelRepository.findById(id).get();
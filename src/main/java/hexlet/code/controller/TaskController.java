@@ -1,10 +1,25 @@
 package hexlet.code.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.querydsl.core.types.Predicate;
+import hexlet.code.component.TaskChangeFeed;
+import hexlet.code.component.TaskSearchIndex;
+import hexlet.code.dto.CursorPage;
+import hexlet.code.dto.TaskAggregates;
+import hexlet.code.dto.TaskBatchResult;
+import hexlet.code.dto.TaskChanges;
+import hexlet.code.dto.TaskCursor;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskImportStatus;
+import hexlet.code.dto.TaskView;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskHistoryEntry;
+import hexlet.code.repository.TaskHistoryRepository;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.service.TaskCounterService;
+import hexlet.code.service.TaskImportService;
 import hexlet.code.service.TaskService;
+import hexlet.code.service.TaskSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,21 +29,40 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
 
 @RestController
@@ -37,12 +71,37 @@ import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
 public class TaskController {
     public static final String TASK_CONTROLLER_PATH = "/tasks";
     private static final String ID = "/{id}";
+    private static final String CURSOR = "cursor";
+    private static final String DEFAULT_PAGE_SIZE = "10";
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final String EXPORT = "/export";
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final byte[] NEW_LINE = {'\n'};
+    private static final String BATCH = "/batch";
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String IMPORT = "/import";
+    private static final String IMPORT_ID = IMPORT + "/{importId}";
+    private static final String SEARCH = "/search";
+    private static final String AGGREGATES = "/aggregates";
+    private static final String ANY_ENTITY_TAG = "*";
+    private static final String STREAM = "/stream";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final String CHANGES = "/changes";
+    private static final String DEFAULT_CHANGES_LIMIT = "1000";
+    private static final String HISTORY = ID + "/history";
 
     private static final String ONLY_CREATOR_BY_TASK_ID =
-            "@taskRepository.findById(#id).get().getAuthor().getEmail() == authentication.getName()";
+            "@taskRepository.existsByIdAndAuthorId(#id, authentication.principal.id)";
 
     private TaskRepository taskRepository;
     private TaskService taskService;
+    private TaskImportService taskImportService;
+    private TaskSearchIndex taskSearchIndex;
+    private TaskCounterService taskCounterService;
+    private TaskChangeFeed taskChangeFeed;
+    private TaskSyncService taskSyncService;
+    private TaskHistoryRepository taskHistoryRepository;
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Get task by id")
     @ApiResponses(value = {
@@ -52,15 +111,23 @@ public class TaskController {
                     content = {
                         @Content(
                                     mediaType = "application/json",
-                                    schema = @Schema(implementation = Task.class)
+                                    schema = @Schema(implementation = TaskView.class)
                             )
                     }
             ),
+        @ApiResponse(responseCode = "304", description = "Task not changed since the entity tag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Task with given id not found")
     })
+    @Transactional(readOnly = true)
     @GetMapping(ID)
-    public Task getById(@PathVariable @Parameter(description = "Id of task to get") final Long id) {
-        return taskRepository.findById(id).get();
+    public ResponseEntity<TaskView> getById(
+            @PathVariable @Parameter(description = "Id of task to get") final Long id,
+            final WebRequest request) {
+        final TaskView task = findView(id);
+        if (request.checkNotModified(task.entityTag())) {
+            return null;
+        }
+        return withEntityTag(task);
     }
 
     @Operation(summary = "Get all tasks")
@@ -70,17 +137,154 @@ public class TaskController {
             content = {
                 @Content(
                             mediaType = "application/json",
-                            array = @ArraySchema(schema = @Schema(implementation = Task.class)))
+                            array = @ArraySchema(schema = @Schema(implementation = TaskView.class)))
             }
     )
+    @Transactional(readOnly = true)
     @GetMapping
-    public List<Task> getAll(
+    public List<TaskView> getAll(
             @QuerydslPredicate(root = Task.class)
             @Parameter(description = "Predicate to filter tasks") Predicate predicate,
 
             @PageableDefault
             @Parameter(description = "Contains pagination parameters") Pageable pageable) {
-        return taskRepository.findAll(predicate, pageable).getContent();
+        return taskRepository.findAllViews(predicate, pageable);
+    }
+
+    @Operation(summary = "Get tasks page after cursor",
+            description = "Keyset pagination ordered by creation time. Pass an empty cursor to get the first page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tasks page got"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @Transactional(readOnly = true)
+    @GetMapping(params = CURSOR)
+    public CursorPage<TaskView> getAllAfterCursor(
+            @QuerydslPredicate(root = Task.class)
+            @Parameter(description = "Predicate to filter tasks") Predicate predicate,
+
+            @RequestParam(CURSOR)
+            @Parameter(description = "Cursor from the previous page") String cursor,
+
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+            @Parameter(description = "Page size") int size) {
+        final int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        final TaskCursor after = TaskCursor.decode(cursor);
+        final List<TaskView> tasks = taskRepository.findAllViewsAfter(predicate, after, limit + 1);
+        if (tasks.size() <= limit) {
+            return new CursorPage<>(tasks, null);
+        }
+        final List<TaskView> page = tasks.subList(0, limit);
+        return new CursorPage<>(page, TaskCursor.of(page.get(limit - 1)).encode());
+    }
+
+    @Operation(summary = "Search tasks by words of name and description",
+            description = "Every word of the query must match the start of a word in the task. "
+                    + "Best matches go first, filters apply to all of them")
+    @ApiResponses(value = {
+        @ApiResponse(
+                    responseCode = "200",
+                    description = "Found tasks got",
+                    content = {
+                        @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskView.class)))
+                    }
+            ),
+        @ApiResponse(responseCode = "503", description = "Search index is still being built, retry later")
+    })
+    @Transactional(readOnly = true)
+    @GetMapping(SEARCH)
+    public List<TaskView> search(
+            @RequestParam("q") @Parameter(description = "Words to search for") String query,
+
+            @QuerydslPredicate(root = Task.class)
+            @Parameter(description = "Predicate to filter tasks") Predicate predicate,
+
+            @PageableDefault
+            @Parameter(description = "Page and size, sort is ignored") Pageable pageable) {
+        if (!taskSearchIndex.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still being built");
+        }
+        return taskRepository.findAllViewsAmong(taskSearchIndex.search(query), predicate, pageable);
+    }
+
+    @Operation(summary = "Get number of tasks per status, executor and label",
+            description = "Served from counters kept up to date by task changes, no tasks are read")
+    @ApiResponse(responseCode = "200", description = "Task counts got",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskAggregates.class)))
+    @Transactional(readOnly = true)
+    @GetMapping(AGGREGATES)
+    public TaskAggregates getAggregates() {
+        return taskCounterService.getAggregates();
+    }
+
+    @Operation(summary = "Get history of task changes",
+            description = "One entry per changed attribute, oldest first. History is written in the background, "
+                    + "so the latest changes may show up with a short delay")
+    @ApiResponse(responseCode = "200", description = "History page got")
+    @Transactional(readOnly = true)
+    @GetMapping(HISTORY)
+    public CursorPage<TaskHistoryEntry> getHistory(
+            @PathVariable @Parameter(description = "Id of task") final Long id,
+
+            @RequestParam(name = CURSOR, required = false)
+            @Parameter(description = "Cursor from the previous page, none for the first page") String cursor,
+
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+            @Parameter(description = "Page size") int size) {
+        final int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        final List<TaskHistoryEntry> entries = taskHistoryRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(
+                id, decodeHistoryCursor(cursor), PageRequest.ofSize(limit + 1));
+        if (entries.size() <= limit) {
+            return new CursorPage<>(entries, null);
+        }
+        final List<TaskHistoryEntry> page = entries.subList(0, limit);
+        return new CursorPage<>(page, String.valueOf(page.get(limit - 1).getId()));
+    }
+
+    @Operation(summary = "Get ids of tasks changed and deleted since a watermark",
+            description = "Pass 0 for the first sync, then the watermark of the previous response. "
+                    + "Changes come oldest first; when more is set, call again right away")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes got"),
+        @ApiResponse(responseCode = "410", description = "Watermark is unknown, sync from scratch")
+    })
+    @GetMapping(CHANGES)
+    public TaskChanges getChanges(
+            @RequestParam(defaultValue = "0") @Parameter(description = "Watermark of the previous sync") long since,
+            @RequestParam(defaultValue = DEFAULT_CHANGES_LIMIT)
+            @Parameter(description = "Maximum number of ids") int limit) {
+        return taskSyncService.getChangesSince(since, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+
+    @Operation(summary = "Stream task changes as server-sent events",
+            description = "Sends created, updated and deleted events for changes committed after subscribing. "
+                    + "A reconnecting client passes Last-Event-ID to get what it missed; when that is no longer "
+                    + "kept, a " + TaskChangeFeed.RESET_EVENT + " event tells it to reload the tasks")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @GetMapping(path = STREAM, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(name = LAST_EVENT_ID, required = false)
+            @Parameter(description = "Id of the last event got before reconnecting") final Long lastEventId) {
+        return taskChangeFeed.subscribe(lastEventId);
+    }
+
+    @Operation(summary = "Export tasks as newline-delimited JSON",
+            description = "Streams every task matching the filter, one JSON object per line")
+    @ApiResponse(responseCode = "200", description = "Tasks exported")
+    @GetMapping(path = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @QuerydslPredicate(root = Task.class)
+            @Parameter(description = "Predicate to filter tasks") Predicate predicate) {
+        final StreamingResponseBody body = out -> taskRepository.forEachViewChunk(
+                predicate,
+                EXPORT_CHUNK_SIZE,
+                chunk -> writeLines(chunk, out)
+        );
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Operation(summary = "Create new task")
@@ -91,7 +295,7 @@ public class TaskController {
                     content = {
                         @Content(
                                     mediaType = "application/json",
-                                    schema = @Schema(implementation = Task.class)
+                                    schema = @Schema(implementation = TaskView.class)
                             )
                     }
             ),
@@ -99,8 +303,9 @@ public class TaskController {
     })
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Task createNew(@RequestBody @Parameter(description = "Task to create") final @Valid TaskDto taskDto) {
-        return taskService.createNew(taskDto);
+    public TaskView createNew(
+            @RequestBody @Parameter(description = "Task to create") final @Valid TaskDto taskDto) {
+        return findView(taskService.createNew(taskDto).getId());
     }
 
     @Operation(summary = "Update task by id")
@@ -111,18 +316,100 @@ public class TaskController {
                     content = {
                         @Content(
                                     mediaType = "application/json",
-                                    schema = @Schema(implementation = Task.class)
+                                    schema = @Schema(implementation = TaskView.class)
                             )
                     }
             ),
         @ApiResponse(responseCode = "404", description = "Task with given id not found"),
+        @ApiResponse(responseCode = "409", description = "Task was changed by another request meanwhile"),
+        @ApiResponse(responseCode = "412", description = "Task does not match the entity tag in If-Match"),
         @ApiResponse(responseCode = "422", description = "Bad input data")
     })
     @PutMapping(ID)
-    public Task update(
+    public ResponseEntity<TaskView> update(
             @RequestBody @Valid @Parameter(description = "New task data") final TaskDto taskDto,
-            @PathVariable @Parameter(description = "Id of task to update") final Long id) {
-        return taskService.update(taskDto, id);
+            @PathVariable @Parameter(description = "Id of task to update") final Long id,
+            @RequestHeader final HttpHeaders headers) {
+        final List<String> ifMatch = headers.getIfMatch();
+        if (ifMatch.isEmpty()) {
+            return withEntityTag(findView(taskService.update(taskDto, id).getId()));
+        }
+        final TaskView current = findView(id);
+        if (!ifMatch.contains(ANY_ENTITY_TAG) && !ifMatch.contains(current.entityTag())) {
+            throw preconditionFailed(id);
+        }
+        try {
+            return withEntityTag(findView(taskService.update(taskDto, id, current.getVersion()).getId()));
+        } catch (OptimisticLockingFailureException e) {
+            throw preconditionFailed(id);
+        }
+    }
+
+    @Operation(summary = "Create tasks in bulk",
+            description = "Valid tasks are created, invalid ones are reported by their index in the request")
+    @ApiResponses(value = {
+        @ApiResponse(
+                    responseCode = "200",
+                    description = "Outcome of every task in request order",
+                    content = {
+                        @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskBatchResult.class)))
+                    }
+            ),
+        @ApiResponse(responseCode = "422", description = "Too many tasks in one request")
+    })
+    @PostMapping(BATCH)
+    public List<TaskBatchResult> createAll(
+            @RequestBody @Parameter(description = "Tasks to create") final List<TaskDto> taskDtos) {
+        checkBatchSize(taskDtos.size());
+        return taskService.createAll(taskDtos);
+    }
+
+    @Operation(summary = "Update tasks in bulk",
+            description = "Takes new task data keyed by task id. Missing and invalid tasks are reported, not updated")
+    @ApiResponses(value = {
+        @ApiResponse(
+                    responseCode = "200",
+                    description = "Outcome of every task in request order",
+                    content = {
+                        @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskBatchResult.class)))
+                    }
+            ),
+        @ApiResponse(responseCode = "422", description = "Too many tasks in one request")
+    })
+    @PutMapping(BATCH)
+    public List<TaskBatchResult> updateAll(
+            @RequestBody @Parameter(description = "New task data by task id") final Map<Long, TaskDto> taskDtos) {
+        checkBatchSize(taskDtos.size());
+        return taskService.updateAll(taskDtos);
+    }
+
+    @Operation(summary = "Import tasks from CSV",
+            description = "Header row names the columns: name, status, description, executor (email) and labels "
+                    + "(names separated by |). Rows are imported in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import started"),
+        @ApiResponse(responseCode = "503", description = "Too many imports in progress")
+    })
+    @PostMapping(path = IMPORT, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TaskImportStatus importCsv(
+            @RequestPart("file") @Parameter(description = "CSV file with tasks") final MultipartFile file) {
+        return taskImportService.start(file);
+    }
+
+    @Operation(summary = "Get task import progress and row errors")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import status got"),
+        @ApiResponse(responseCode = "404", description = "Import with given id not found")
+    })
+    @GetMapping(IMPORT_ID)
+    public TaskImportStatus getImportStatus(
+            @PathVariable @Parameter(description = "Id of import") final String importId) {
+        return taskImportService.getStatus(importId);
     }
 
     @Operation(summary = "Delete task by id")
@@ -135,4 +422,48 @@ public class TaskController {
     public void delete(@PathVariable @Parameter(description = "Id of label to delete") final Long id) {
         taskService.deleteById(id);
     }
+
+    private TaskView findView(final Long id) {
+        return taskRepository.findViewById(id)
+                .orElseThrow(() -> new NoSuchElementException(String.format("Task with id %d not found", id)));
+    }
+
+    private static ResponseEntity<TaskView> withEntityTag(final TaskView task) {
+        return ResponseEntity.ok().eTag(task.entityTag()).body(task);
+    }
+
+    private static ResponseStatusException preconditionFailed(final Long id) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                String.format("Task with id %d does not match If-Match", id));
+    }
+
+    private static long decodeHistoryCursor(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static void checkBatchSize(final int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    String.format("At most %d tasks per request", MAX_BATCH_SIZE));
+        }
+    }
+
+    private void writeLines(final List<TaskView> tasks, final OutputStream out) {
+        try {
+            for (TaskView task : tasks) {
+                out.write(objectMapper.writeValueAsBytes(task));
+                out.write(NEW_LINE);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
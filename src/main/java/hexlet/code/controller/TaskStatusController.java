@@ -23,6 +23,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -47,6 +48,7 @@ public class TaskStatusController {
                             array = @ArraySchema(schema = @Schema(implementation = TaskStatus.class)))
             }
     )
+    @Transactional(readOnly = true)
     @GetMapping
     public List<TaskStatus> getAll() {
         return taskStatusRepository.findAll();
@@ -66,6 +68,7 @@ public class TaskStatusController {
             ),
         @ApiResponse(responseCode = "404", description = "Task status with given id not found")
     })
+    @Transactional(readOnly = true)
     @GetMapping(ID)
     public TaskStatus getById(@PathVariable @Parameter(description = "Id of task status to get") final long id) {
         return taskStatusRepository.findById(id).get();
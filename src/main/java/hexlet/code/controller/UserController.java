@@ -22,6 +22,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.transaction.annotation.Transactional;
 import static org.springframework.http.HttpStatus.CREATED;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -37,7 +38,7 @@ public class UserController {
     private final UserService userService;
 
     private static final String ONLY_OWNER_BY_ID =
-            "@userRepository.findById(#id).get().getEmail() == authentication.getName()";
+            "#id == authentication.principal.id";
 
     @Operation(summary = "Get all users")
     @ApiResponse(
@@ -49,6 +50,7 @@ public class UserController {
                             array = @ArraySchema(schema = @Schema(implementation = User.class)))
             }
     )
+    @Transactional(readOnly = true)
     @GetMapping
     public List<User> getAll() {
         return userRepository.findAll();
@@ -68,6 +70,7 @@ public class UserController {
             ),
         @ApiResponse(responseCode = "404", description = "User with given id not found")
     })
+    @Transactional(readOnly = true)
     @GetMapping(ID)
     public User getById(@PathVariable @Parameter(description = "Id of user to get") final Long id) {
         return userRepository.findById(id).get();
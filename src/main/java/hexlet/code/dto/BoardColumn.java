@@ -0,0 +1,21 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BoardColumn {
+    private Long statusId;
+
+    private String statusName;
+
+    private long total;
+
+    private List<TaskView> tasks;
+
+    private String nextCursor;
+}
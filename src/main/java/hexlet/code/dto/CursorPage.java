@@ -0,0 +1,15 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CursorPage<T> {
+    private List<T> content;
+
+    private String nextCursor;
+}
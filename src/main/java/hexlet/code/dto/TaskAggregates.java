@@ -0,0 +1,21 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TaskAggregates {
+    private long total;
+
+    private Map<Long, Long> byStatus;
+
+    private Map<Long, Long> byExecutor;
+
+    private long withoutExecutor;
+
+    private Map<Long, Long> byLabel;
+}
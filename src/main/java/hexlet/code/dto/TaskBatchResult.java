@@ -0,0 +1,35 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TaskBatchResult {
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        INVALID,
+        NOT_FOUND
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Outcome outcome;
+
+    private List<String> errors;
+
+    public static TaskBatchResult done(final int index, final Long id, final Outcome outcome) {
+        return new TaskBatchResult(index, id, outcome, List.of());
+    }
+
+    public static TaskBatchResult failed(final int index, final Long id, final Outcome outcome,
+                                         final List<String> errors) {
+        return new TaskBatchResult(index, id, outcome, errors);
+    }
+}
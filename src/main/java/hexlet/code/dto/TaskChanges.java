@@ -0,0 +1,23 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Ids of tasks changed and deleted after a watermark. Pass {@code watermark} as {@code since} in the next call;
+ * while {@code more} is set, there are further changes to fetch right away.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TaskChanges {
+    private List<Long> changed;
+
+    private List<Long> deleted;
+
+    private long watermark;
+
+    private boolean more;
+}
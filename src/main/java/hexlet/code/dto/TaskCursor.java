@@ -0,0 +1,41 @@
+package hexlet.code.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import lombok.Value;
+import org.springframework.web.server.ResponseStatusException;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Position in the task list ordered by (createdAt, id). Clients get it as an opaque string.
+ */
+@Value
+public class TaskCursor {
+    private static final String SEPARATOR = ":";
+
+    Date createdAt;
+    Long id;
+
+    public static TaskCursor of(final TaskView task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    public static TaskCursor decode(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final String[] parts = decoded.split(SEPARATOR);
+            return new TaskCursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        final String raw = createdAt.getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
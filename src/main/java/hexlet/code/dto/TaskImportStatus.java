@@ -0,0 +1,41 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TaskImportStatus {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    private String id;
+
+    private State state;
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsFailed;
+
+    private List<RowError> errors;
+
+    private String failure;
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    public static class RowError {
+        private long row;
+
+        private List<String> messages;
+    }
+}
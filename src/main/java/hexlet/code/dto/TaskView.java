@@ -0,0 +1,69 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * Read side of a task. Holds only what the task endpoints return: statuses and labels by id and name,
+ * users by id, first and last name, no emails.
+ * Versions are not serialized, they only make up the entity tag.
+ */
+@Value
+@Builder
+@JsonSerialize(using = TaskViewSerializer.class)
+public class TaskView {
+    Long id;
+    Long version;
+    String name;
+    String description;
+    StatusView taskStatus;
+    UserView author;
+    UserView executor;
+    @Singular
+    List<LabelView> labels;
+    Date createdAt;
+
+    /**
+     * Strong entity tag of the representation. Changes with the task and with every linked status, user or label,
+     * since their names are part of the body too. Changing the links themselves bumps the task version.
+     * @return quoted entity tag
+     */
+    public String entityTag() {
+        final StringBuilder tag = new StringBuilder("\"")
+                .append(id).append('.').append(version)
+                .append('.').append(taskStatus.getVersion())
+                .append('.').append(author.getVersion())
+                .append('.').append(executor == null ? "-" : executor.getVersion());
+        labels.stream()
+                .sorted(Comparator.comparing(LabelView::getId))
+                .forEach(label -> tag.append('.').append(label.getVersion()));
+        return tag.append('"').toString();
+    }
+
+    @Value
+    public static class StatusView {
+        Long id;
+        Long version;
+        String name;
+    }
+
+    @Value
+    public static class UserView {
+        Long id;
+        Long version;
+        String firstName;
+        String lastName;
+    }
+
+    @Value
+    public static class LabelView {
+        Long id;
+        Long version;
+        String name;
+    }
+}
@@ -0,0 +1,68 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Writes {@link TaskView} field by field, without bean introspection.
+ */
+public class TaskViewSerializer extends StdSerializer<TaskView> {
+
+    public TaskViewSerializer() {
+        super(TaskView.class);
+    }
+
+    @Override
+    public void serialize(final TaskView task,
+                          final JsonGenerator gen,
+                          final SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", task.getId());
+        gen.writeStringField("name", task.getName());
+        gen.writeStringField("description", task.getDescription());
+
+        gen.writeFieldName("taskStatus");
+        final TaskView.StatusView status = task.getTaskStatus();
+        writeIdAndName(gen, status.getId(), status.getName());
+
+        gen.writeFieldName("author");
+        writeUser(gen, task.getAuthor());
+        gen.writeFieldName("executor");
+        writeUser(gen, task.getExecutor());
+
+        gen.writeArrayFieldStart("labels");
+        for (TaskView.LabelView label : task.getLabels()) {
+            writeIdAndName(gen, label.getId(), label.getName());
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName("createdAt");
+        if (task.getCreatedAt() == null) {
+            gen.writeNull();
+        } else {
+            provider.defaultSerializeDateValue(task.getCreatedAt(), gen);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeIdAndName(final JsonGenerator gen, final Long id, final String name) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", id);
+        gen.writeStringField("name", name);
+        gen.writeEndObject();
+    }
+
+    private static void writeUser(final JsonGenerator gen, final TaskView.UserView user) throws IOException {
+        if (user == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeNumberField("id", user.getId());
+        gen.writeStringField("firstName", user.getFirstName());
+        gen.writeStringField("lastName", user.getLastName());
+        gen.writeEndObject();
+    }
+}
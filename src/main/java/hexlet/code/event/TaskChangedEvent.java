@@ -0,0 +1,38 @@
+package hexlet.code.event;
+
+import hexlet.code.model.Task;
+import lombok.Value;
+
+/**
+ * Published by the task service inside the transaction that changed the task.
+ * Listeners that keep derived state should use {@code @TransactionalEventListener}, so they see committed changes only.
+ * Events of different transactions may arrive in any order; the change sequence tells which one is newer.
+ */
+@Value
+public class TaskChangedEvent {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    Type type;
+    Long id;
+    String name;
+    String description;
+    Long changeSeq;
+
+    public static TaskChangedEvent created(final Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task.getName(), task.getDescription(),
+                task.getChangeSeq());
+    }
+
+    public static TaskChangedEvent updated(final Task task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task.getName(), task.getDescription(),
+                task.getChangeSeq());
+    }
+
+    public static TaskChangedEvent deleted(final Long id, final Long changeSeq) {
+        return new TaskChangedEvent(Type.DELETED, id, null, null, changeSeq);
+    }
+}
@@ -2,9 +2,9 @@ package hexlet.code.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.SecurityUser;
 import hexlet.code.dto.LoginDto;
 import java.io.IOException;
-import java.util.Map;
 import java.util.stream.Collectors;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,7 +14,6 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
@@ -60,8 +59,8 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                                             final HttpServletResponse response,
                                             final FilterChain chain,
                                             final Authentication authResult) throws IOException {
-        final UserDetails user = (UserDetails) authResult.getPrincipal();
-        final String token = jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, user.getUsername()));
+        final SecurityUser user = (SecurityUser) authResult.getPrincipal();
+        final String token = jwtHelper.expiring(user.getProfile().toClaims());
 
         response.getWriter().println(token);
     }
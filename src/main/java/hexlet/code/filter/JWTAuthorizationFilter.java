@@ -1,7 +1,9 @@
 package hexlet.code.filter;
 
-import hexlet.code.component.JWTHelper;
+import hexlet.code.component.VerifiedTokenCache;
+import hexlet.code.config.security.AuthenticatedUser;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,19 +15,19 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
-import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
 
 public class JWTAuthorizationFilter extends OncePerRequestFilter {
 
     private static final String BEARER = "Bearer";
+    private static final String OUTDATED_TOKEN = "Token is outdated, sign in again";
 
     private final RequestMatcher publicUrls;
-    private final JWTHelper jwtHelper;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public JWTAuthorizationFilter(final RequestMatcher publicUrls,
-                                  final JWTHelper jwtHelper) {
+                                  final VerifiedTokenCache verifiedTokenCache) {
         this.publicUrls = publicUrls;
-        this.jwtHelper = jwtHelper;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
@@ -38,21 +40,28 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
                                     final HttpServletResponse response,
                                     final FilterChain filterChain) throws ServletException, IOException {
 
-        final var authToken = Optional.ofNullable(request.getHeader(AUTHORIZATION))
-                .map(header -> header.replaceFirst("^" + BEARER, ""))
+        final Optional<Map<String, Object>> claims = Optional.ofNullable(request.getHeader(AUTHORIZATION))
+                .map(this::removeBearerPrefix)
                 .map(String::trim)
-                .map(jwtHelper::verify)
-                .map(claims -> claims.get(SPRING_SECURITY_FORM_USERNAME_KEY))
-                .map(Object::toString)
-                .map(this::buildAuthToken)
-                .orElse(null);
-        SecurityContextHolder.getContext().setAuthentication(authToken);
+                .map(verifiedTokenCache::verify);
+        final Optional<AuthenticatedUser> user = claims.flatMap(AuthenticatedUser::fromClaims);
+        // a valid token without the user id predates the id claim: ownership checks can't hold for it,
+        // so the client has to sign in again
+        if (claims.isPresent() && user.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, OUTDATED_TOKEN);
+            return;
+        }
+        SecurityContextHolder.getContext().setAuthentication(user.map(this::buildAuthToken).orElse(null));
         filterChain.doFilter(request, response);
     }
 
-    private UsernamePasswordAuthenticationToken buildAuthToken(final String username) {
+    private String removeBearerPrefix(final String header) {
+        return header.startsWith(BEARER) ? header.substring(BEARER.length()) : header;
+    }
+
+    private UsernamePasswordAuthenticationToken buildAuthToken(final AuthenticatedUser user) {
         return new UsernamePasswordAuthenticationToken(
-                username,
+                user,
                 null,
                 DEFAULT_AUTHORITIES
         );
@@ -1,14 +1,20 @@
 package hexlet.code.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -17,40 +23,68 @@ import lombok.Setter;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.util.Date;
-import java.util.List;
+import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = Task.WITH_ASSOCIATIONS, attributeNodes = {
+    @NamedAttributeNode("taskStatus"),
+    @NamedAttributeNode("author"),
+    @NamedAttributeNode("executor"),
+    @NamedAttributeNode("labels")
+})
+@Table(indexes = {
+    @Index(name = "idx_task_created_at_id", columnList = "createdAt, id"),
+    @Index(name = "idx_task_status_created_at_id", columnList = "task_status_id, createdAt, id"),
+    @Index(name = "idx_task_change_seq", columnList = "changeSeq")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Task {
+    public static final String WITH_ASSOCIATIONS = "Task.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @Size(min = 1)
     @NotBlank
     private String name;
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private TaskStatus taskStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User executor;
 
-    @ManyToMany(fetch = FetchType.EAGER)
-    private List<Label> labels;
+    @ManyToMany(fetch = FetchType.LAZY)
+    private Set<Label> labels;
 
     @CreationTimestamp
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
+
+    @UpdateTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    /**
+     * Position of the last change of this task in the change sequence, see {@link TaskTombstone} for deletions.
+     */
+    @JsonIgnore
+    private Long changeSeq;
 }
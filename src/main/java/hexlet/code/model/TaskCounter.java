@@ -0,0 +1,20 @@
+package hexlet.code.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCounter {
+    @EmbeddedId
+    private TaskCounterId id;
+
+    private long taskCount;
+}
@@ -0,0 +1,32 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a counter counts: tasks with the given status, executor or label.
+ * Tasks without executor are counted under executor {@link #NO_EXECUTOR}.
+ */
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCounterId implements Serializable {
+    public static final long NO_EXECUTOR = 0L;
+
+    public enum Dimension {
+        STATUS,
+        EXECUTOR,
+        LABEL
+    }
+
+    @Enumerated(EnumType.STRING)
+    private Dimension dimension;
+
+    private Long refId;
+}
@@ -0,0 +1,59 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * One changed attribute of a task. Rows are only ever appended, in JDBC batches by the history writer.
+ * References are kept as ids, labels as ids joined with commas in ascending order.
+ */
+@Entity
+@Table(name = TaskHistoryEntry.TABLE, indexes = @Index(name = "idx_task_history_task_id_id", columnList = "taskId, id"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskHistoryEntry {
+    public static final String TABLE = "task_history";
+
+    public enum Attribute {
+        NAME,
+        DESCRIPTION,
+        STATUS,
+        EXECUTOR,
+        LABELS,
+        DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    private Attribute attribute;
+
+    private String oldValue;
+
+    private String newValue;
+
+    private Long actorId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date changedAt;
+}
@@ -0,0 +1,35 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.util.Date;
+
+/**
+ * Marks a deleted task, so clients syncing by change sequence learn about the deletion.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_task_tombstone_change_seq", columnList = "changeSeq"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskTombstone {
+    @Id
+    private Long taskId;
+
+    private Long changeSeq;
+
+    @CreationTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date deletedAt;
+}
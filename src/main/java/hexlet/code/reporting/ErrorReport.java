@@ -0,0 +1,16 @@
+package hexlet.code.reporting;
+
+import java.util.Date;
+import lombok.Value;
+
+/**
+ * An error to be reported, with the request it happened in.
+ * Identical errors share a fingerprint: exception classes and top stack frames of the whole cause chain.
+ */
+@Value
+public class ErrorReport {
+    String fingerprint;
+    Throwable error;
+    String description;
+    Date occurredAt;
+}
@@ -0,0 +1,132 @@
+package hexlet.code.reporting;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports errors without making the failing request wait for it.
+ * An error seen again within the dedup window is only counted. New ones go to a bounded queue,
+ * dropped and counted when it is full, and a single sender thread hands them to the transport in batches.
+ */
+@Slf4j
+@Component
+public class ErrorReporter {
+    private static final int FINGERPRINT_FRAMES = 8;
+    private static final long POLL_MILLIS = 500;
+
+    private final ErrorTransport transport;
+    private final BlockingQueue<ErrorReport> queue;
+    private final int batchSize;
+    private final Cache<String, Boolean> recent;
+    private final Counter suppressed;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    public ErrorReporter(final ErrorTransport transport,
+                         final MeterRegistry meterRegistry,
+                         @Value("${errors.reporting.queue-capacity:1000}") final int queueCapacity,
+                         @Value("${errors.reporting.batch-size:50}") final int batchSize,
+                         @Value("${errors.reporting.dedup-window:PT1M}") final Duration dedupWindow) {
+        this.transport = transport;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.recent = Caffeine.newBuilder()
+                .expireAfterWrite(dedupWindow)
+                .maximumSize(queueCapacity * 10L)
+                .build();
+        Gauge.builder("errors.reporting.queued", queue, BlockingQueue::size).register(meterRegistry);
+        this.suppressed = Counter.builder("errors.reporting.suppressed")
+                .description("Errors not sent again within the dedup window")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("errors.reporting.dropped")
+                .description("Errors not sent because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("errors.reporting.failed")
+                .description("Errors the transport failed to deliver")
+                .register(meterRegistry);
+        this.sender = new Thread(this::run, "error-reporter");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Queues an error for reporting. Never blocks.
+     *
+     * @param error what went wrong
+     * @param description where it happened, like the request method and path
+     */
+    public void report(final Throwable error, final String description) {
+        final String fingerprint = fingerprintOf(error);
+        if (recent.asMap().putIfAbsent(fingerprint, Boolean.TRUE) != null) {
+            suppressed.increment();
+            return;
+        }
+        if (!running || !queue.offer(new ErrorReport(fingerprint, error, description, new Date()))) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        sender.join(POLL_MILLIS * 2);
+    }
+
+    private void run() {
+        final List<ErrorReport> batch = new ArrayList<>(batchSize);
+        while (true) {
+            final ErrorReport first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                transport.send(batch);
+            } catch (RuntimeException e) {
+                log.warn("Could not send {} error reports", batch.size(), e);
+                failed.increment(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    // exception classes and top frames of every cause, line numbers included
+    private static String fingerprintOf(final Throwable error) {
+        final StringBuilder fingerprint = new StringBuilder();
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            fingerprint.append(cause.getClass().getName());
+            final StackTraceElement[] frames = cause.getStackTrace();
+            for (int i = 0; i < Math.min(frames.length, FINGERPRINT_FRAMES); i++) {
+                fingerprint.append('|').append(frames[i]);
+            }
+            fingerprint.append(';');
+        }
+        return fingerprint.toString();
+    }
+}
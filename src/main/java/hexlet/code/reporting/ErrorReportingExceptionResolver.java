@@ -0,0 +1,32 @@
+package hexlet.code.reporting;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Hands every exception thrown by a handler to the error reporter, then lets the other resolvers handle it.
+ */
+@Component
+@AllArgsConstructor
+public class ErrorReportingExceptionResolver implements HandlerExceptionResolver, Ordered {
+    private final ErrorReporter errorReporter;
+
+    @Override
+    public ModelAndView resolveException(final HttpServletRequest request,
+                                         final HttpServletResponse response,
+                                         final Object handler,
+                                         final Exception ex) {
+        errorReporter.report(ex, request.getMethod() + " " + request.getRequestURI());
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,10 @@
+package hexlet.code.reporting;
+
+import java.util.List;
+
+/**
+ * Delivers error reports to where they are tracked. Called from the single sender thread only.
+ */
+public interface ErrorTransport {
+    void send(List<ErrorReport> reports);
+}
@@ -0,0 +1,27 @@
+package hexlet.code.reporting;
+
+import com.rollbar.api.payload.data.Level;
+import com.rollbar.notifier.Rollbar;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends reports through the Rollbar notifier. Rollbar has no batch call, a batch goes out report by report.
+ */
+@Component
+@AllArgsConstructor
+public class RollbarErrorTransport implements ErrorTransport {
+    private static final String FINGERPRINT = "fingerprint";
+
+    private final Rollbar rollbar;
+
+    @Override
+    public void send(final List<ErrorReport> reports) {
+        for (ErrorReport report : reports) {
+            rollbar.log(report.getError(), Map.of(FINGERPRINT, report.getFingerprint()),
+                    report.getDescription(), Level.ERROR);
+        }
+    }
+}
@@ -1,7 +1,21 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.Label;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface LabelRepository extends JpaRepository<Label, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Label> findAll();
+
+    @Query("select l.id from #{#entityName} l where l.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
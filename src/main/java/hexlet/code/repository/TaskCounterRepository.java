@@ -0,0 +1,46 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskCounter;
+import hexlet.code.model.TaskCounterId;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounterId> {
+    @Modifying
+    @Query("update TaskCounter c set c.taskCount = c.taskCount + :delta "
+            + "where c.id.dimension = :#{#id.dimension} and c.id.refId = :#{#id.refId}")
+    int increment(@Param("id") TaskCounterId id, @Param("delta") long delta);
+
+    List<TaskCounter> findAllByIdDimension(TaskCounterId.Dimension dimension);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from TaskCounter c")
+    List<TaskCounter> findAllForUpdate();
+
+    // everything a counter can count by
+
+    @Query("select s.id from TaskStatus s")
+    List<Long> findAllStatusIds();
+
+    @Query("select u.id from User u")
+    List<Long> findAllUserIds();
+
+    @Query("select l.id from labels l")
+    List<Long> findAllLabelIds();
+
+    // rows of [ref id, number of tasks], counted from the tasks themselves
+
+    @Query("select t.taskStatus.id, count(t) from Task t group by t.taskStatus.id")
+    List<Object[]> countTasksByStatus();
+
+    @Query("select coalesce(e.id, 0), count(t) from Task t left join t.executor e group by e.id")
+    List<Object[]> countTasksByExecutor();
+
+    @Query("select l.id, count(t) from Task t join t.labels l group by l.id")
+    List<Object[]> countTasksByLabel();
+}
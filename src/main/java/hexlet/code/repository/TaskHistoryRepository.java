@@ -0,0 +1,10 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskHistoryEntry;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TaskHistoryRepository extends JpaRepository<TaskHistoryEntry, Long> {
+    List<TaskHistoryEntry> findByTaskIdAndIdGreaterThanOrderByIdAsc(Long taskId, Long afterId, Pageable pageable);
+}
@@ -6,17 +6,52 @@ import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.Label;
 import hexlet.code.model.QTask;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.repository.query.Param;
 
 public interface TaskRepository
-        extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task>, QuerydslBinderCustomizer<QTask> {
+        extends JpaRepository<Task, Long>,
+        QuerydslPredicateExecutor<Task>,
+        QuerydslBinderCustomizer<QTask>,
+        TaskRepositoryCustom {
+    @Override
+    @EntityGraph(Task.WITH_ASSOCIATIONS)
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(Task.WITH_ASSOCIATIONS)
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(Task.WITH_ASSOCIATIONS)
+    List<Task> findAllById(Iterable<Long> ids);
+
     boolean existsByAuthor(User user);
+    boolean existsByIdAndAuthorId(Long id, Long authorId);
     boolean existsByTaskStatus(TaskStatus status);
     boolean existsByLabelsIsContaining(Label label);
 
+    @Query("select coalesce(max(t.changeSeq), 0) from Task t")
+    long findMaxChangeSeq();
+
+    // rows of [task id, change sequence] in sequence order
+
+    @Query("select t.id, t.changeSeq from Task t "
+            + "where t.changeSeq > :since and t.changeSeq <= :upTo order by t.changeSeq")
+    List<Object[]> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+
+    // rows of [task id, name, description, change sequence] in id order, for the search index
+    @Query("select t.id, t.name, t.description, t.changeSeq from Task t where t.id > :afterId order by t.id")
+    List<Object[]> findSearchableAfter(@Param("afterId") long afterId, Pageable pageable);
+
     @Override
     default void customize(QuerydslBindings bindings, QTask root) {
         bindings.bind(String.class).first((StringPath path, String value) -> path.containsIgnoreCase(value));
@@ -0,0 +1,59 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskView;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Pageable;
+
+public interface TaskRepositoryCustom {
+    Optional<TaskView> findViewById(Long id);
+
+    /**
+     * Offset page of task views. No count query is run.
+     * @param predicate filter built from request parameters
+     * @param pageable page, size and sort
+     * @return tasks of the requested page
+     */
+    List<TaskView> findAllViews(Predicate predicate, Pageable pageable);
+
+    /**
+     * Keyset page: task views matching the predicate that go after the cursor in (createdAt, id) order.
+     * No count query is run.
+     * @param predicate filter built from request parameters
+     * @param after position of the last seen task, null for the first page
+     * @param limit maximum number of tasks to return
+     * @return tasks ordered by createdAt and id
+     */
+    List<TaskView> findAllViewsAfter(Predicate predicate, TaskCursor after, int limit);
+
+    /**
+     * First task views of every given status in (createdAt, id) order, read with a single query whose cost
+     * depends on the number of statuses and the limit, not on the number of tasks.
+     * @param statusIds statuses to read the first tasks of
+     * @param limit maximum number of tasks per status
+     * @return tasks ordered by status id, then createdAt and id
+     */
+    List<TaskView> findFirstViewsPerStatus(List<Long> statusIds, int limit);
+
+    /**
+     * Offset page over the given ids that match the predicate, keeping their order. Ids of deleted tasks are skipped.
+     * Ids are filtered in chunks from the start, only until the page is full.
+     * @param rankedIds candidate ids in the order they are returned
+     * @param predicate filter built from request parameters
+     * @param pageable page and size, sort is ignored
+     * @return tasks of the requested page
+     */
+    List<TaskView> findAllViewsAmong(List<Long> rankedIds, Predicate predicate, Pageable pageable);
+
+    /**
+     * Reads all task views matching the predicate through a forward-only cursor and hands them over in chunks.
+     * Only one chunk is held in memory at a time.
+     * @param predicate filter built from request parameters
+     * @param chunkSize number of tasks per chunk, also used as JDBC fetch size
+     * @param consumer receives chunks in id order
+     */
+    void forEachViewChunk(Predicate predicate, int chunkSize, Consumer<List<TaskView>> consumer);
+}
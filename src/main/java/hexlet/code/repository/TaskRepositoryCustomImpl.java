@@ -0,0 +1,229 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskView;
+import hexlet.code.dto.TaskView.LabelView;
+import hexlet.code.dto.TaskView.StatusView;
+import hexlet.code.dto.TaskView.UserView;
+import hexlet.code.model.QLabel;
+import hexlet.code.model.QTask;
+import hexlet.code.model.QTaskStatus;
+import hexlet.code.model.QUser;
+import hexlet.code.model.Task;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Task views are read as plain columns, no entities get into the persistence context.
+ * A page costs two statements: tasks with status, author and executor joined, then labels of the whole page.
+ * Labels are never joined to the paged query, so limit and offset stay in the database.
+ */
+@Transactional(readOnly = true)
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final QTask TASK = QTask.task;
+    private static final QTaskStatus STATUS = new QTaskStatus("status");
+    private static final QUser AUTHOR = new QUser("author");
+    private static final QUser EXECUTOR = new QUser("executor");
+    private static final QLabel LABEL = QLabel.label;
+    private static final int FILTER_CHUNK_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final JPAQueryFactory queryFactory;
+    private final Querydsl querydsl;
+
+    public TaskRepositoryCustomImpl(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.queryFactory = new JPAQueryFactory(entityManager);
+        this.querydsl = new Querydsl(entityManager, new PathBuilder<>(Task.class, TASK.getMetadata()));
+    }
+
+    @Override
+    public Optional<TaskView> findViewById(final Long id) {
+        return fetchViews(selectViewColumns().where(TASK.id.eq(id))).stream().findFirst();
+    }
+
+    @Override
+    public List<TaskView> findAllViews(final Predicate predicate, final Pageable pageable) {
+        return fetchViews(querydsl.applyPagination(pageable, selectViewColumns().where(predicate)));
+    }
+
+    @Override
+    public List<TaskView> findAllViewsAfter(final Predicate predicate, final TaskCursor after, final int limit) {
+        return fetchViews(selectViewColumns()
+                .where(predicate, after == null ? null : isAfter(after))
+                .orderBy(TASK.createdAt.asc(), TASK.id.asc())
+                .limit(limit));
+    }
+
+    @Override
+    public List<TaskView> findFirstViewsPerStatus(final List<Long> statusIds, final int limit) {
+        if (statusIds.isEmpty()) {
+            return List.of();
+        }
+        final List<Long> ids = ((List<?>) entityManager.createNativeQuery(firstPerStatusSql(statusIds, limit))
+                .getResultList())
+                .stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return fetchViews(selectViewColumns()
+                .where(TASK.id.in(ids))
+                .orderBy(STATUS.id.asc(), TASK.createdAt.asc(), TASK.id.asc()));
+    }
+
+    @Override
+    public List<TaskView> findAllViewsAmong(final List<Long> rankedIds,
+                                            final Predicate predicate,
+                                            final Pageable pageable) {
+        final long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        final long size = pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE;
+        // a filter may match only tasks far down the ranking, so chunks are checked until the page is full
+        final List<Long> matching = new ArrayList<>();
+        for (int from = 0; from < rankedIds.size() && matching.size() - skip < size; from += FILTER_CHUNK_SIZE) {
+            final List<Long> chunk = rankedIds.subList(from, Math.min(from + FILTER_CHUNK_SIZE, rankedIds.size()));
+            final Set<Long> existing = new HashSet<>(queryFactory.select(TASK.id)
+                    .from(TASK)
+                    .where(TASK.id.in(chunk), predicate)
+                    .fetch());
+            chunk.stream().filter(existing::contains).forEach(matching::add);
+        }
+        final List<Long> pageIds = matching.stream().skip(skip).limit(size).toList();
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
+        final Map<Long, TaskView> views = fetchViews(selectViewColumns().where(TASK.id.in(pageIds))).stream()
+                .collect(Collectors.toMap(TaskView::getId, Function.identity()));
+        return pageIds.stream().map(views::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public void forEachViewChunk(final Predicate predicate,
+                                 final int chunkSize,
+                                 final Consumer<List<TaskView>> consumer) {
+        final JPAQuery<Tuple> query = selectViewColumns()
+                .where(predicate)
+                .orderBy(TASK.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize);
+        try (Stream<Tuple> rows = query.stream()) {
+            final List<Tuple> chunk = new ArrayList<>(chunkSize);
+            rows.forEach(row -> {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    consumer.accept(toViews(chunk));
+                    chunk.clear();
+                    // nothing should be managed after a chunk, clear anyway so the context can't grow
+                    entityManager.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                consumer.accept(toViews(chunk));
+            }
+        }
+    }
+
+    /**
+     * One branch per status, each ordered like the (task_status_id, created_at, id) index, so the database
+     * reads every branch from the index and stops after the limit instead of ranking the whole table.
+     * Ids and limit are numbers, written into the statement to keep one plain union that every database runs.
+     *
+     * @param statusIds statuses to read the first tasks of
+     * @param limit maximum number of tasks per status
+     * @return native query returning task ids
+     */
+    static String firstPerStatusSql(final List<Long> statusIds, final int limit) {
+        return statusIds.stream()
+                .map(statusId -> "(select id from task where task_status_id = " + statusId.longValue()
+                        + " order by task_status_id, created_at, id limit " + limit + ")")
+                .collect(Collectors.joining(" union all "));
+    }
+
+    private JPAQuery<Tuple> selectViewColumns() {
+        return queryFactory
+                .select(
+                        TASK.id, TASK.version, TASK.name, TASK.description, TASK.createdAt,
+                        STATUS.id, STATUS.version, STATUS.name,
+                        AUTHOR.id, AUTHOR.version, AUTHOR.firstName, AUTHOR.lastName,
+                        EXECUTOR.id, EXECUTOR.version, EXECUTOR.firstName, EXECUTOR.lastName
+                )
+                .from(TASK)
+                .join(TASK.taskStatus, STATUS)
+                .join(TASK.author, AUTHOR)
+                .leftJoin(TASK.executor, EXECUTOR);
+    }
+
+    private List<TaskView> fetchViews(final JPQLQuery<Tuple> query) {
+        return toViews(query.fetch());
+    }
+
+    private List<TaskView> toViews(final List<Tuple> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        final List<Long> taskIds = rows.stream().map(row -> row.get(TASK.id)).toList();
+        final Map<Long, List<LabelView>> labels = findLabelsByTaskIds(taskIds);
+        return rows.stream()
+                .map(row -> toView(row, labels.getOrDefault(row.get(TASK.id), List.of())))
+                .toList();
+    }
+
+    private Map<Long, List<LabelView>> findLabelsByTaskIds(final List<Long> taskIds) {
+        return queryFactory.select(TASK.id, LABEL.id, LABEL.version, LABEL.name)
+                .from(TASK)
+                .join(TASK.labels, LABEL)
+                .where(TASK.id.in(taskIds))
+                .fetch()
+                .stream()
+                .collect(Collectors.groupingBy(
+                        row -> row.get(TASK.id),
+                        Collectors.mapping(
+                                row -> new LabelView(row.get(LABEL.id), row.get(LABEL.version), row.get(LABEL.name)),
+                                Collectors.toList())
+                ));
+    }
+
+    private static TaskView toView(final Tuple row, final List<LabelView> labels) {
+        final Long executorId = row.get(EXECUTOR.id);
+        return TaskView.builder()
+                .id(row.get(TASK.id))
+                .version(row.get(TASK.version))
+                .name(row.get(TASK.name))
+                .description(row.get(TASK.description))
+                .taskStatus(new StatusView(row.get(STATUS.id), row.get(STATUS.version), row.get(STATUS.name)))
+                .author(new UserView(row.get(AUTHOR.id), row.get(AUTHOR.version),
+                        row.get(AUTHOR.firstName), row.get(AUTHOR.lastName)))
+                .executor(executorId == null
+                        ? null
+                        : new UserView(executorId, row.get(EXECUTOR.version),
+                                row.get(EXECUTOR.firstName), row.get(EXECUTOR.lastName)))
+                .labels(labels)
+                .createdAt(row.get(TASK.createdAt))
+                .build();
+    }
+
+    private static Predicate isAfter(final TaskCursor cursor) {
+        return TASK.createdAt.gt(cursor.getCreatedAt())
+                .or(TASK.createdAt.eq(cursor.getCreatedAt()).and(TASK.id.gt(cursor.getId())));
+    }
+}
@@ -1,7 +1,21 @@
 package hexlet.code.repository;
 
 import hexlet.code.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TaskStatus> findAll();
+
+    @Query("select s.id from #{#entityName} s where s.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,19 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.TaskTombstone;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    @Query("select coalesce(max(t.changeSeq), 0) from TaskTombstone t")
+    long findMaxChangeSeq();
+
+    // rows of [task id, change sequence] in sequence order
+
+    @Query("select t.taskId, t.changeSeq from TaskTombstone t "
+            + "where t.changeSeq > :since and t.changeSeq <= :upTo order by t.changeSeq")
+    List<Object[]> findDeletedBetween(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+}
@@ -1,7 +1,9 @@
 package hexlet.code.service;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
+import hexlet.code.model.TaskCounterId.Dimension;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
 import jakarta.transaction.Transactional;
@@ -17,12 +19,16 @@ import java.util.NoSuchElementException;
 public class LabelServiceImpl implements LabelService {
     private LabelRepository labelRepository;
     private TaskRepository taskRepository;
+    private ReferenceDataCache referenceDataCache;
+    private TaskCounterService taskCounterService;
 
     @Override
     public Label createNew(LabelDto labelDto) {
         Label label = new Label();
         label.setName(labelDto.getName());
-        return labelRepository.save(label);
+        final Label saved = labelRepository.save(label);
+        taskCounterService.createCounter(Dimension.LABEL, saved.getId());
+        return saved;
     }
 
     @Override
@@ -30,6 +36,7 @@ public class LabelServiceImpl implements LabelService {
         checkExistingById(id);
         Label label = labelRepository.findById(id).get();
         label.setName(labelDto.getName());
+        referenceDataCache.evictLabel(id);
         return labelRepository.save(label);
     }
 
@@ -38,9 +45,11 @@ public class LabelServiceImpl implements LabelService {
         checkExistingById(id);
         if (!taskRepository.existsByLabelsIsContaining(labelRepository.findById(id).get())) {
             labelRepository.deleteById(id);
+            taskCounterService.removeCounter(Dimension.LABEL, id);
         } else {
             throw new DataIntegrityViolationException("There are tasks in which this label is used");
         }
+        referenceDataCache.evictLabel(id);
     }
 
     private void checkExistingById(final Long id) {
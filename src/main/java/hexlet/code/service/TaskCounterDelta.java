@@ -0,0 +1,53 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskCounterId;
+import hexlet.code.model.TaskCounterId.Dimension;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes of task counters made by one transaction. A task removed and added back with the same
+ * status, executor and labels cancels out, so its counters aren't written at all.
+ */
+final class TaskCounterDelta {
+    private static final Comparator<TaskCounterId> LOCK_ORDER = Comparator
+            .comparing(TaskCounterId::getDimension)
+            .thenComparing(TaskCounterId::getRefId);
+
+    private final Map<TaskCounterId, Long> deltas = new HashMap<>();
+
+    void add(final Task task) {
+        change(task, 1);
+    }
+
+    void remove(final Task task) {
+        change(task, -1);
+    }
+
+    /**
+     * Non-zero changes in a fixed order, so concurrent transactions lock counter rows in the same order.
+     *
+     * @return counter ids with their changes
+     */
+    List<Map.Entry<TaskCounterId, Long>> changes() {
+        return deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(LOCK_ORDER))
+                .toList();
+    }
+
+    private void change(final Task task, final long delta) {
+        deltas.merge(new TaskCounterId(Dimension.STATUS, task.getTaskStatus().getId()), delta, Long::sum);
+        final Long executorId = task.getExecutor() == null ? TaskCounterId.NO_EXECUTOR : task.getExecutor().getId();
+        deltas.merge(new TaskCounterId(Dimension.EXECUTOR, executorId), delta, Long::sum);
+        if (task.getLabels() != null) {
+            for (Label label : task.getLabels()) {
+                deltas.merge(new TaskCounterId(Dimension.LABEL, label.getId()), delta, Long::sum);
+            }
+        }
+    }
+}
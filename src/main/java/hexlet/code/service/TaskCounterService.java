@@ -0,0 +1,148 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskAggregates;
+import hexlet.code.model.TaskCounter;
+import hexlet.code.model.TaskCounterId;
+import hexlet.code.model.TaskCounterId.Dimension;
+import hexlet.code.repository.TaskCounterRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Number of tasks per status, executor and label, kept in counter rows.
+ * Task changes adjust the counters in their own transaction, reading them costs one small query.
+ * A counter row is created together with its status, user or label, so a task change only ever updates
+ * existing rows and never needs a second connection.
+ * Reconciliation recounts the tasks at startup and periodically, creating missing rows and correcting any drift.
+ */
+@Slf4j
+@Service
+public class TaskCounterService {
+    private final TaskCounterRepository taskCounterRepository;
+    private final TransactionTemplate transaction;
+
+    public TaskCounterService(final TaskCounterRepository taskCounterRepository,
+                              final PlatformTransactionManager transactionManager) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public TaskAggregates getAggregates() {
+        final TaskAggregates aggregates = new TaskAggregates(0, new HashMap<>(), new HashMap<>(), 0, new HashMap<>());
+        for (TaskCounter counter : taskCounterRepository.findAll()) {
+            if (counter.getTaskCount() == 0) {
+                continue;
+            }
+            final Long refId = counter.getId().getRefId();
+            switch (counter.getId().getDimension()) {
+                case STATUS -> {
+                    aggregates.getByStatus().put(refId, counter.getTaskCount());
+                    aggregates.setTotal(aggregates.getTotal() + counter.getTaskCount());
+                }
+                case EXECUTOR -> {
+                    if (refId == TaskCounterId.NO_EXECUTOR) {
+                        aggregates.setWithoutExecutor(counter.getTaskCount());
+                    } else {
+                        aggregates.getByExecutor().put(refId, counter.getTaskCount());
+                    }
+                }
+                case LABEL -> aggregates.getByLabel().put(refId, counter.getTaskCount());
+                default -> throw new IllegalStateException("Unknown dimension " + counter.getId().getDimension());
+            }
+        }
+        return aggregates;
+    }
+
+    public Map<Long, Long> getCountsByStatus() {
+        return taskCounterRepository.findAllByIdDimension(Dimension.STATUS).stream()
+                .collect(Collectors.toMap(counter -> counter.getId().getRefId(), TaskCounter::getTaskCount));
+    }
+
+    /**
+     * Adds the delta to counters within the current transaction.
+     * A row can only be missing when its status, user or label was written around the application,
+     * the change is left to the next reconciliation then.
+     *
+     * @param delta changes made by the current transaction
+     */
+    void apply(final TaskCounterDelta delta) {
+        for (Map.Entry<TaskCounterId, Long> change : delta.changes()) {
+            if (taskCounterRepository.increment(change.getKey(), change.getValue()) == 0) {
+                log.warn("No task counter {}, it is corrected by the next reconciliation", change.getKey());
+            }
+        }
+    }
+
+    /**
+     * Creates the counter of a new status, user or label within the transaction creating it.
+     * Nothing else can know the id yet, so the insert never races another one.
+     *
+     * @param dimension what the new counter counts by
+     * @param refId id of the new status, user or label
+     */
+    public void createCounter(final Dimension dimension, final Long refId) {
+        taskCounterRepository.save(new TaskCounter(new TaskCounterId(dimension, refId), 0));
+    }
+
+    /**
+     * Removes the counter of a deleted status, user or label, which no task refers to any more.
+     *
+     * @param dimension what the counter counts by
+     * @param refId id of the deleted status, user or label
+     */
+    public void removeCounter(final Dimension dimension, final Long refId) {
+        taskCounterRepository.deleteById(new TaskCounterId(dimension, refId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tasks.counters.reconcile-interval:PT1H}",
+            initialDelayString = "${tasks.counters.reconcile-interval:PT1H}")
+    public void reconcile() {
+        transaction.executeWithoutResult(status -> {
+            // locking every counter first makes task transactions that touch counters wait for the recount,
+            // and the recount wait for those already holding a counter
+            final Map<TaskCounterId, TaskCounter> stored = taskCounterRepository.findAllForUpdate().stream()
+                    .collect(Collectors.toMap(TaskCounter::getId, Function.identity()));
+            final Map<TaskCounterId, Long> actual = new HashMap<>();
+            // every status, user and label gets a row, counted or not
+            putZeros(actual, Dimension.STATUS, taskCounterRepository.findAllStatusIds());
+            putZeros(actual, Dimension.EXECUTOR, taskCounterRepository.findAllUserIds());
+            putZeros(actual, Dimension.EXECUTOR, List.of(TaskCounterId.NO_EXECUTOR));
+            putZeros(actual, Dimension.LABEL, taskCounterRepository.findAllLabelIds());
+            putCounts(actual, Dimension.STATUS, taskCounterRepository.countTasksByStatus());
+            putCounts(actual, Dimension.EXECUTOR, taskCounterRepository.countTasksByExecutor());
+            putCounts(actual, Dimension.LABEL, taskCounterRepository.countTasksByLabel());
+
+            stored.forEach((id, counter) -> counter.setTaskCount(actual.getOrDefault(id, 0L)));
+            actual.forEach((id, count) -> {
+                if (!stored.containsKey(id)) {
+                    taskCounterRepository.save(new TaskCounter(id, count));
+                }
+            });
+        });
+    }
+
+    private static void putZeros(final Map<TaskCounterId, Long> counts,
+                                 final Dimension dimension,
+                                 final List<Long> refIds) {
+        refIds.forEach(refId -> counts.put(new TaskCounterId(dimension, refId), 0L));
+    }
+
+    private static void putCounts(final Map<TaskCounterId, Long> counts,
+                                  final Dimension dimension,
+                                  final List<Object[]> rows) {
+        for (Object[] row : rows) {
+            counts.put(new TaskCounterId(dimension, ((Number) row[0]).longValue()), ((Number) row[1]).longValue());
+        }
+    }
+}
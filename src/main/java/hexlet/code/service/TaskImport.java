@@ -0,0 +1,63 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskImportStatus;
+import hexlet.code.dto.TaskImportStatus.RowError;
+import hexlet.code.dto.TaskImportStatus.State;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one import, written by the import worker and read by status requests.
+ * Only the first {@link #MAX_ERRORS} row errors are kept, the rest are only counted.
+ */
+final class TaskImport {
+    static final int MAX_ERRORS = 1000;
+
+    private final String id;
+    private final List<RowError> errors = new ArrayList<>();
+    private State state = State.QUEUED;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private String failure;
+
+    TaskImport(final String id) {
+        this.id = id;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    synchronized void started() {
+        state = State.RUNNING;
+    }
+
+    synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    synchronized void rowImported() {
+        rowsImported++;
+    }
+
+    synchronized void rowFailed(final long row, final List<String> messages) {
+        rowsFailed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(row, List.copyOf(messages)));
+        }
+    }
+
+    synchronized void done() {
+        state = State.DONE;
+    }
+
+    synchronized void failed(final String message) {
+        state = State.FAILED;
+        failure = message;
+    }
+
+    synchronized TaskImportStatus toStatus() {
+        return new TaskImportStatus(id, state, rowsRead, rowsImported, rowsFailed, List.copyOf(errors), failure);
+    }
+}
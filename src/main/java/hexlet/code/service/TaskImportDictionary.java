@@ -0,0 +1,72 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Names used in an import file mapped to ids, so rows need no lookups of their own.
+ * Statuses and labels are few and loaded once when the import starts. Users can be many,
+ * so only the executors of the current chunk are looked up, by email, in one query per chunk.
+ */
+final class TaskImportDictionary {
+    private final Map<String, Long> statusIdsByName;
+    private final Map<String, Long> labelIdsByName;
+    private final UserRepository userRepository;
+    private final Map<String, Long> userIdsByEmail = new HashMap<>();
+
+    private TaskImportDictionary(final Map<String, Long> statusIdsByName,
+                                 final Map<String, Long> labelIdsByName,
+                                 final UserRepository userRepository) {
+        this.statusIdsByName = statusIdsByName;
+        this.labelIdsByName = labelIdsByName;
+        this.userRepository = userRepository;
+    }
+
+    static TaskImportDictionary load(final TaskStatusRepository taskStatusRepository,
+                                     final LabelRepository labelRepository,
+                                     final UserRepository userRepository) {
+        return new TaskImportDictionary(
+                idsBy(taskStatusRepository.findAll(), TaskStatus::getName, TaskStatus::getId),
+                idsBy(labelRepository.findAll(), Label::getName, Label::getId),
+                userRepository
+        );
+    }
+
+    // replaces the users known so far with the ones of the next chunk
+    void loadUsers(final Collection<String> emails) {
+        userIdsByEmail.clear();
+        if (emails.isEmpty()) {
+            return;
+        }
+        userRepository.findIdsByEmailIn(emails)
+                .forEach(row -> userIdsByEmail.put((String) row[0], (Long) row[1]));
+    }
+
+    Long statusId(final String name) {
+        return statusIdsByName.get(name);
+    }
+
+    Long labelId(final String name) {
+        return labelIdsByName.get(name);
+    }
+
+    Long userId(final String email) {
+        return userIdsByEmail.get(email);
+    }
+
+    private static <T> Map<String, Long> idsBy(final List<T> entities,
+                                               final Function<T, String> getKey,
+                                               final Function<T, Long> getId) {
+        return entities.stream()
+                .collect(Collectors.toMap(getKey, getId, (first, second) -> first));
+    }
+}
@@ -0,0 +1,9 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskImportStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface TaskImportService {
+    TaskImportStatus start(MultipartFile file);
+    TaskImportStatus getStatus(String id);
+}
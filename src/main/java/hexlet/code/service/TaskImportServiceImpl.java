@@ -0,0 +1,264 @@
+package hexlet.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import hexlet.code.dto.TaskBatchResult;
+import hexlet.code.dto.TaskBatchResult.Outcome;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskImportStatus;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Imports tasks from CSV with a header row. Known columns are name, description, status (name),
+ * executor (email) and labels (names separated by {@value #LABEL_SEPARATOR}), others are ignored.
+ * The upload is spooled to a temp file and read record by record on a worker; every chunk of rows
+ * is created in its own transaction, so a large file never sits in memory or in one transaction.
+ */
+@Slf4j
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String STATUS = "status";
+    private static final String EXECUTOR = "executor";
+    private static final String LABELS = "labels";
+    private static final String LABEL_SEPARATOR = "|";
+    private static final Duration STATUS_RETENTION = Duration.ofHours(1);
+
+    private final TaskService taskService;
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
+    private final UserRepository userRepository;
+    private final int chunkSize;
+    private final ThreadPoolTaskExecutor workers;
+    private final AsyncTaskExecutor executor;
+    private final Cache<String, TaskImport> imports = Caffeine.newBuilder()
+            .expireAfterAccess(STATUS_RETENTION)
+            .build();
+
+    public TaskImportServiceImpl(final TaskService taskService,
+                                 final TaskStatusRepository taskStatusRepository,
+                                 final LabelRepository labelRepository,
+                                 final UserRepository userRepository,
+                                 @Value("${tasks.import.chunk-size:500}") final int chunkSize,
+                                 @Value("${tasks.import.workers:1}") final int workerCount,
+                                 @Value("${tasks.import.queue-capacity:4}") final int queueCapacity) {
+        this.taskService = taskService;
+        this.taskStatusRepository = taskStatusRepository;
+        this.labelRepository = labelRepository;
+        this.userRepository = userRepository;
+        this.chunkSize = chunkSize;
+        this.workers = new ThreadPoolTaskExecutor();
+        workers.setCorePoolSize(workerCount);
+        workers.setMaxPoolSize(workerCount);
+        workers.setQueueCapacity(queueCapacity);
+        workers.setThreadNamePrefix("task-import-");
+        workers.initialize();
+        // imports run as the user who uploaded the file
+        this.executor = new DelegatingSecurityContextAsyncTaskExecutor(workers);
+    }
+
+    @Override
+    public TaskImportStatus start(final MultipartFile file) {
+        final Path csv = spool(file);
+        final TaskImport taskImport = new TaskImport(UUID.randomUUID().toString());
+        imports.put(taskImport.getId(), taskImport);
+        try {
+            executor.execute(() -> run(taskImport, csv));
+        } catch (TaskRejectedException e) {
+            imports.invalidate(taskImport.getId());
+            deleteQuietly(csv);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress");
+        }
+        return taskImport.toStatus();
+    }
+
+    @Override
+    public TaskImportStatus getStatus(final String id) {
+        final TaskImport taskImport = imports.getIfPresent(id);
+        if (taskImport == null) {
+            throw new NoSuchElementException(String.format("Import with id %s not found", id));
+        }
+        return taskImport.toStatus();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void run(final TaskImport taskImport, final Path csv) {
+        taskImport.started();
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(csv, StandardCharsets.UTF_8))) {
+            final Map<String, Integer> columns = readHeader(reader.readNext());
+            final TaskImportDictionary dictionary =
+                    TaskImportDictionary.load(taskStatusRepository, labelRepository, userRepository);
+            final List<String[]> records = new ArrayList<>(chunkSize);
+            final List<Long> recordRows = new ArrayList<>(chunkSize);
+            long row = 0;
+            for (String[] record = reader.readNext(); record != null; record = reader.readNext()) {
+                row++;
+                taskImport.rowRead();
+                records.add(record);
+                recordRows.add(row);
+                if (records.size() == chunkSize) {
+                    importChunk(taskImport, columns, dictionary, records, recordRows);
+                }
+            }
+            importChunk(taskImport, columns, dictionary, records, recordRows);
+            taskImport.done();
+        } catch (IOException | CsvValidationException | RuntimeException e) {
+            log.warn("Task import failed", e);
+            taskImport.failed(e.getMessage());
+        } finally {
+            deleteQuietly(csv);
+        }
+    }
+
+    private void importChunk(final TaskImport taskImport,
+                             final Map<String, Integer> columns,
+                             final TaskImportDictionary dictionary,
+                             final List<String[]> records,
+                             final List<Long> recordRows) {
+        if (records.isEmpty()) {
+            return;
+        }
+        dictionary.loadUsers(records.stream()
+                .map(record -> cell(record, columns, EXECUTOR))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        final List<TaskDto> chunk = new ArrayList<>(records.size());
+        final List<Long> chunkRows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            final List<String> errors = new ArrayList<>();
+            final TaskDto taskDto = toTaskDto(records.get(i), columns, dictionary, errors);
+            if (errors.isEmpty()) {
+                chunk.add(taskDto);
+                chunkRows.add(recordRows.get(i));
+            } else {
+                taskImport.rowFailed(recordRows.get(i), errors);
+            }
+        }
+        records.clear();
+        recordRows.clear();
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (TaskBatchResult result : taskService.createAll(chunk)) {
+            if (result.getOutcome() == Outcome.CREATED) {
+                taskImport.rowImported();
+            } else {
+                taskImport.rowFailed(chunkRows.get(result.getIndex()), result.getErrors());
+            }
+        }
+    }
+
+    private static Map<String, Integer> readHeader(final String[] header) {
+        if (header == null) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        final Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.putIfAbsent(header[i].trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey(NAME) || !columns.containsKey(STATUS)) {
+            throw new IllegalArgumentException("Header must contain name and status columns");
+        }
+        return columns;
+    }
+
+    private static TaskDto toTaskDto(final String[] record,
+                                     final Map<String, Integer> columns,
+                                     final TaskImportDictionary dictionary,
+                                     final List<String> errors) {
+        final TaskDto taskDto = new TaskDto(cell(record, columns, NAME), cell(record, columns, DESCRIPTION));
+
+        final String status = cell(record, columns, STATUS);
+        taskDto.setTaskStatusId(dictionary.statusId(status));
+        if (taskDto.getTaskStatusId() == null) {
+            errors.add(String.format("status: task status %s not found", status));
+        }
+
+        final String executor = cell(record, columns, EXECUTOR);
+        if (executor != null) {
+            taskDto.setExecutorId(dictionary.userId(executor));
+            if (taskDto.getExecutorId() == null) {
+                errors.add(String.format("executor: user %s not found", executor));
+            }
+        }
+
+        final List<Long> labelIds = new ArrayList<>();
+        final String labels = cell(record, columns, LABELS);
+        if (labels != null) {
+            Arrays.stream(labels.split("\\" + LABEL_SEPARATOR))
+                    .map(String::trim)
+                    .filter(label -> !label.isEmpty())
+                    .forEach(label -> {
+                        final Long labelId = dictionary.labelId(label);
+                        if (labelId == null) {
+                            errors.add(String.format("labels: label %s not found", label));
+                        } else {
+                            labelIds.add(labelId);
+                        }
+                    });
+        }
+        taskDto.setLabelIds(labelIds);
+        return taskDto;
+    }
+
+    private static String cell(final String[] record, final Map<String, Integer> columns, final String column) {
+        final Integer index = columns.get(column);
+        if (index == null || index >= record.length || record[index].isBlank()) {
+            return null;
+        }
+        return record[index].trim();
+    }
+
+    private static Path spool(final MultipartFile file) {
+        try {
+            final Path csv = Files.createTempFile("tasks-import-", ".csv");
+            file.transferTo(csv);
+            return csv;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(final Path csv) {
+        try {
+            Files.deleteIfExists(csv);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", csv, e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskDto;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks users, statuses and labels referenced by tasks with one id query per entity type,
+ * whatever the number of tasks and labels. Rows themselves are never loaded.
+ */
+@Component
+@AllArgsConstructor
+public class TaskReferenceResolver {
+    private final UserRepository userRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final LabelRepository labelRepository;
+
+    TaskReferences resolve(final Collection<TaskDto> taskDtos) {
+        final Set<Long> userIds = new HashSet<>();
+        final Set<Long> statusIds = new HashSet<>();
+        final Set<Long> labelIds = new HashSet<>();
+        for (TaskDto taskDto : taskDtos) {
+            userIds.add(taskDto.getAuthorId());
+            userIds.add(taskDto.getExecutorId());
+            statusIds.add(taskDto.getTaskStatusId());
+            labelIds.addAll(TaskReferences.labelIdsOf(taskDto));
+        }
+        return new TaskReferences(
+                existing(userIds, userRepository::findExistingIds),
+                existing(statusIds, taskStatusRepository::findExistingIds),
+                existing(labelIds, labelRepository::findExistingIds),
+                userRepository::getReferenceById,
+                taskStatusRepository::getReferenceById,
+                labelRepository::getReferenceById
+        );
+    }
+
+    private static Set<Long> existing(final Set<Long> ids, final Function<Set<Long>, Set<Long>> findExistingIds) {
+        ids.removeIf(Objects::isNull);
+        return ids.isEmpty() ? Set.of() : findExistingIds.apply(ids);
+    }
+}
@@ -0,0 +1,82 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Ids found by {@link TaskReferenceResolver}. Tasks get uninitialized references to them,
+ * only foreign keys are needed to save a task.
+ */
+final class TaskReferences {
+    private final Set<Long> userIds;
+    private final Set<Long> statusIds;
+    private final Set<Long> labelIds;
+    private final Function<Long, User> userReference;
+    private final Function<Long, TaskStatus> statusReference;
+    private final Function<Long, Label> labelReference;
+
+    TaskReferences(final Set<Long> userIds,
+                   final Set<Long> statusIds,
+                   final Set<Long> labelIds,
+                   final Function<Long, User> userReference,
+                   final Function<Long, TaskStatus> statusReference,
+                   final Function<Long, Label> labelReference) {
+        this.userIds = userIds;
+        this.statusIds = statusIds;
+        this.labelIds = labelIds;
+        this.userReference = userReference;
+        this.statusReference = statusReference;
+        this.labelReference = labelReference;
+    }
+
+    List<String> findMissing(final TaskDto taskDto) {
+        final List<String> errors = new ArrayList<>();
+        if (!userIds.contains(taskDto.getAuthorId())) {
+            errors.add(String.format("authorId: user with id %d not found", taskDto.getAuthorId()));
+        }
+        if (taskDto.getExecutorId() != null && !userIds.contains(taskDto.getExecutorId())) {
+            errors.add(String.format("executorId: user with id %d not found", taskDto.getExecutorId()));
+        }
+        if (!statusIds.contains(taskDto.getTaskStatusId())) {
+            errors.add(String.format("taskStatusId: task status with id %d not found", taskDto.getTaskStatusId()));
+        }
+        labelIdsOf(taskDto).stream()
+                .filter(id -> !labelIds.contains(id))
+                .forEach(id -> errors.add(String.format("labelIds: label with id %d not found", id)));
+        return errors;
+    }
+
+    void applyTo(final Task task, final TaskDto taskDto) {
+        task.setName(taskDto.getName());
+        task.setDescription(taskDto.getDescription());
+        task.setAuthor(userReference.apply(taskDto.getAuthorId()));
+        task.setExecutor(taskDto.getExecutorId() == null ? null : userReference.apply(taskDto.getExecutorId()));
+        task.setTaskStatus(statusReference.apply(taskDto.getTaskStatusId()));
+        updateLabels(task, taskDto);
+    }
+
+    // the managed set is changed in place, so only added and removed join rows are written;
+    // a new collection would make Hibernate delete and insert all of them again
+    private void updateLabels(final Task task, final TaskDto taskDto) {
+        if (task.getLabels() == null) {
+            task.setLabels(new HashSet<>());
+        }
+        final Set<Long> toAdd = new LinkedHashSet<>(labelIdsOf(taskDto));
+        task.getLabels().removeIf(label -> !toAdd.contains(label.getId()));
+        task.getLabels().forEach(label -> toAdd.remove(label.getId()));
+        toAdd.forEach(id -> task.getLabels().add(labelReference.apply(id)));
+    }
+
+    static List<Long> labelIdsOf(final TaskDto taskDto) {
+        return taskDto.getLabelIds() == null ? List.of() : taskDto.getLabelIds();
+    }
+}
@@ -1,10 +1,16 @@
 package hexlet.code.service;
 
+import hexlet.code.dto.TaskBatchResult;
 import hexlet.code.dto.TaskDto;
 import hexlet.code.model.Task;
+import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
     Task createNew(TaskDto taskDto);
     Task update(TaskDto taskDto, Long id);
+    Task update(TaskDto taskDto, Long id, Long expectedVersion);
     void deleteById(Long id);
+    List<TaskBatchResult> createAll(List<TaskDto> taskDtos);
+    List<TaskBatchResult> updateAll(Map<Long, TaskDto> taskDtosById);
 }
@@ -1,18 +1,29 @@
 package hexlet.code.service;
 
+import hexlet.code.component.TaskChangeSequence;
+import hexlet.code.component.TaskHistoryWriter;
+import hexlet.code.config.security.AuthenticatedUser;
+import hexlet.code.dto.TaskBatchResult;
+import hexlet.code.dto.TaskBatchResult.Outcome;
 import hexlet.code.dto.TaskDto;
-import hexlet.code.model.Label;
+import hexlet.code.event.TaskChangedEvent;
 import hexlet.code.model.Task;
-import hexlet.code.repository.LabelRepository;
+import hexlet.code.model.TaskHistoryEntry;
+import hexlet.code.model.TaskTombstone;
 import hexlet.code.repository.TaskRepository;
-import hexlet.code.repository.TaskStatusRepository;
-import hexlet.code.repository.UserRepository;
+import hexlet.code.repository.TaskTombstoneRepository;
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,53 +31,182 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class TaskServiceImpl implements TaskService {
     private TaskRepository taskRepository;
-    private UserRepository userRepository;
-    private TaskStatusRepository taskStatusRepository;
-    private LabelRepository labelRepository;
+    private TaskReferenceResolver taskReferenceResolver;
+    private TaskCounterService taskCounterService;
+    private TaskChangeSequence taskChangeSequence;
+    private TaskTombstoneRepository taskTombstoneRepository;
+    private TaskHistoryWriter taskHistoryWriter;
+    private Validator validator;
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public Task createNew(TaskDto taskDto) {
-        String emailOfCurUser = SecurityContextHolder.getContext().getAuthentication().getName();
-        Long idOfCurrentUser = userRepository.findByEmail(emailOfCurUser).get().getId();
+        Long idOfCurrentUser = getIdOfCurrentUser();
         final Task task = new Task();
         taskDto.setAuthorId(idOfCurrentUser);
         setTaskFromTaskDto(task, taskDto);
-        return taskRepository.save(task);
+        task.setChangeSeq(taskChangeSequence.next());
+        final Task saved = taskRepository.save(task);
+        final TaskCounterDelta counterDelta = new TaskCounterDelta();
+        counterDelta.add(saved);
+        taskCounterService.apply(counterDelta);
+        taskHistoryWriter.append(TaskSnapshot.NONE.changesTo(TaskSnapshot.of(saved), saved.getId(), idOfCurrentUser));
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved));
+        return saved;
     }
 
     @Override
     public Task update(TaskDto taskDto, Long id) {
-        checkExisting(id);
-        final Task task = taskRepository.findById(id).get();
+        return update(taskDto, id, null);
+    }
+
+    @Override
+    public Task update(TaskDto taskDto, Long id, Long expectedVersion) {
+        final Task task = findExisting(id);
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new OptimisticLockingFailureException(String.format("Task with id %d was changed meanwhile", id));
+        }
         taskDto.setAuthorId(task.getAuthor().getId());
+        final TaskCounterDelta counterDelta = new TaskCounterDelta();
+        counterDelta.remove(task);
+        final TaskSnapshot before = TaskSnapshot.of(task);
         setTaskFromTaskDto(task, taskDto);
-        return taskRepository.save(task);
+        counterDelta.add(task);
+        task.setChangeSeq(taskChangeSequence.next());
+        final Task saved = taskRepository.save(task);
+        taskCounterService.apply(counterDelta);
+        taskHistoryWriter.append(before.changesTo(TaskSnapshot.of(saved), id, getIdOfCurrentUser()));
+        eventPublisher.publishEvent(TaskChangedEvent.updated(saved));
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
-        checkExisting(id);
-        taskRepository.deleteById(id);
+        final Task task = findExisting(id);
+        final TaskCounterDelta counterDelta = new TaskCounterDelta();
+        counterDelta.remove(task);
+        taskRepository.delete(task);
+        final long changeSeq = taskChangeSequence.next();
+        taskTombstoneRepository.save(new TaskTombstone(id, changeSeq, null));
+        taskCounterService.apply(counterDelta);
+        taskHistoryWriter.append(List.of(TaskSnapshot.deletion(id, getIdOfCurrentUser())));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, changeSeq));
     }
 
-    private void checkExisting(final long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new NoSuchElementException(String.format("Task with id %d not found", id));
+    /**
+     * Invalid items are reported and skipped, valid ones are saved in one flush, so inserts go out as JDBC batches.
+     */
+    @Override
+    public List<TaskBatchResult> createAll(final List<TaskDto> taskDtos) {
+        final Long idOfCurrentUser = getIdOfCurrentUser();
+        taskDtos.forEach(taskDto -> taskDto.setAuthorId(idOfCurrentUser));
+        final TaskReferences references = taskReferenceResolver.resolve(taskDtos);
+
+        final List<TaskBatchResult> results = new ArrayList<>(taskDtos.size());
+        final List<Task> tasks = new ArrayList<>(taskDtos.size());
+        for (int index = 0; index < taskDtos.size(); index++) {
+            final TaskDto taskDto = taskDtos.get(index);
+            final List<String> errors = validate(taskDto, references);
+            if (!errors.isEmpty()) {
+                results.add(TaskBatchResult.failed(index, null, Outcome.INVALID, errors));
+                continue;
+            }
+            final Task task = new Task();
+            references.applyTo(task, taskDto);
+            task.setChangeSeq(taskChangeSequence.next());
+            tasks.add(task);
+            results.add(TaskBatchResult.done(index, null, Outcome.CREATED));
         }
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        final TaskCounterDelta counterDelta = new TaskCounterDelta();
+        tasks.forEach(counterDelta::add);
+        taskCounterService.apply(counterDelta);
+        final List<TaskHistoryEntry> history = new ArrayList<>();
+        tasks.forEach(task -> history.addAll(
+                TaskSnapshot.NONE.changesTo(TaskSnapshot.of(task), task.getId(), idOfCurrentUser)));
+        taskHistoryWriter.append(history);
+        tasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+
+        final Iterator<Task> saved = tasks.iterator();
+        results.stream()
+                .filter(result -> result.getOutcome() == Outcome.CREATED)
+                .forEach(result -> result.setId(saved.next().getId()));
+        return results;
     }
 
-    private void setTaskFromTaskDto(final Task task, final TaskDto taskDto) {
-        task.setName(taskDto.getName());
-        task.setAuthor(userRepository.findById(taskDto.getAuthorId()).get());
-        task.setDescription(taskDto.getDescription());
-        task.setExecutor(userRepository.findById(taskDto.getExecutorId()).get());
-        task.setTaskStatus(taskStatusRepository.findById(taskDto.getTaskStatusId()).get());
-        task.setLabels(getLabelsFromListOfLabelsIds(taskDto.getLabelIds()));
+    /**
+     * Tasks are loaded with one query, dirty ones are flushed together as JDBC batches.
+     */
+    @Override
+    public List<TaskBatchResult> updateAll(final Map<Long, TaskDto> taskDtosById) {
+        final Map<Long, Task> tasks = taskRepository.findAllById(taskDtosById.keySet()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        taskDtosById.forEach((id, taskDto) -> {
+            if (tasks.containsKey(id)) {
+                taskDto.setAuthorId(tasks.get(id).getAuthor().getId());
+            }
+        });
+        final TaskReferences references = taskReferenceResolver.resolve(taskDtosById.values());
+
+        final List<TaskBatchResult> results = new ArrayList<>(taskDtosById.size());
+        final TaskCounterDelta counterDelta = new TaskCounterDelta();
+        final List<TaskHistoryEntry> history = new ArrayList<>();
+        final Long actorId = getIdOfCurrentUser();
+        int index = 0;
+        for (Map.Entry<Long, TaskDto> entry : taskDtosById.entrySet()) {
+            final Long id = entry.getKey();
+            final Task task = tasks.get(id);
+            if (task == null) {
+                results.add(TaskBatchResult.failed(index++, id, Outcome.NOT_FOUND,
+                        List.of(String.format("Task with id %d not found", id))));
+                continue;
+            }
+            final List<String> errors = validate(entry.getValue(), references);
+            if (!errors.isEmpty()) {
+                results.add(TaskBatchResult.failed(index++, id, Outcome.INVALID, errors));
+                continue;
+            }
+            counterDelta.remove(task);
+            final TaskSnapshot before = TaskSnapshot.of(task);
+            references.applyTo(task, entry.getValue());
+            counterDelta.add(task);
+            history.addAll(before.changesTo(TaskSnapshot.of(task), id, actorId));
+            task.setChangeSeq(taskChangeSequence.next());
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task));
+            results.add(TaskBatchResult.done(index++, id, Outcome.UPDATED));
+        }
+        taskRepository.flush();
+        taskCounterService.apply(counterDelta);
+        taskHistoryWriter.append(history);
+        return results;
+    }
+
+    private List<String> validate(final TaskDto taskDto, final TaskReferences references) {
+        final List<String> errors = new ArrayList<>();
+        validator.validate(taskDto).forEach(violation ->
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        if (errors.isEmpty()) {
+            errors.addAll(references.findMissing(taskDto));
+        }
+        return errors;
+    }
+
+    private static Long getIdOfCurrentUser() {
+        return AuthenticatedUser.current().getId();
+    }
+
+    private Task findExisting(final Long id) {
+        return taskRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException(String.format("Task with id %d not found", id)));
     }
 
-    private List<Label> getLabelsFromListOfLabelsIds(List<Long> ids) {
-        return ids.stream()
-                .map(id -> labelRepository.findById(id).get())
-                .collect(Collectors.toList());
+    private void setTaskFromTaskDto(final Task task, final TaskDto taskDto) {
+        final TaskReferences references = taskReferenceResolver.resolve(List.of(taskDto));
+        final List<String> missing = references.findMissing(taskDto);
+        if (!missing.isEmpty()) {
+            throw new NoSuchElementException(String.join("; ", missing));
+        }
+        references.applyTo(task, taskDto);
     }
 }
@@ -0,0 +1,70 @@
+package hexlet.code.service;
+
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskHistoryEntry;
+import hexlet.code.model.TaskHistoryEntry.Attribute;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Task attributes tracked by the history, captured as strings before and after a change.
+ */
+final class TaskSnapshot {
+    static final TaskSnapshot NONE = new TaskSnapshot(null, null, null, null, null);
+
+    private final String name;
+    private final String description;
+    private final String status;
+    private final String executor;
+    private final String labels;
+
+    private TaskSnapshot(final String name, final String description, final String status,
+                         final String executor, final String labels) {
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.executor = executor;
+        this.labels = labels;
+    }
+
+    static TaskSnapshot of(final Task task) {
+        return new TaskSnapshot(
+                task.getName(),
+                task.getDescription(),
+                task.getTaskStatus() == null ? null : String.valueOf(task.getTaskStatus().getId()),
+                task.getExecutor() == null ? null : String.valueOf(task.getExecutor().getId()),
+                task.getLabels() == null || task.getLabels().isEmpty() ? null : task.getLabels().stream()
+                        .map(Label::getId)
+                        .sorted()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(","))
+        );
+    }
+
+    static TaskHistoryEntry deletion(final Long taskId, final Long actorId) {
+        return new TaskHistoryEntry(null, taskId, Attribute.DELETED, null, null, actorId, new Date());
+    }
+
+    List<TaskHistoryEntry> changesTo(final TaskSnapshot after, final Long taskId, final Long actorId) {
+        final Date changedAt = new Date();
+        final List<TaskHistoryEntry> entries = new ArrayList<>();
+        addIfChanged(entries, Attribute.NAME, name, after.name, taskId, actorId, changedAt);
+        addIfChanged(entries, Attribute.DESCRIPTION, description, after.description, taskId, actorId, changedAt);
+        addIfChanged(entries, Attribute.STATUS, status, after.status, taskId, actorId, changedAt);
+        addIfChanged(entries, Attribute.EXECUTOR, executor, after.executor, taskId, actorId, changedAt);
+        addIfChanged(entries, Attribute.LABELS, labels, after.labels, taskId, actorId, changedAt);
+        return entries;
+    }
+
+    private static void addIfChanged(final List<TaskHistoryEntry> entries, final Attribute attribute,
+                                     final String oldValue, final String newValue,
+                                     final Long taskId, final Long actorId, final Date changedAt) {
+        if (!Objects.equals(oldValue, newValue)) {
+            entries.add(new TaskHistoryEntry(null, taskId, attribute, oldValue, newValue, actorId, changedAt));
+        }
+    }
+}
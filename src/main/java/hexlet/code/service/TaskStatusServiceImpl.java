@@ -1,6 +1,8 @@
 package hexlet.code.service;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.model.TaskCounterId.Dimension;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
@@ -17,12 +19,16 @@ import java.util.NoSuchElementException;
 public class TaskStatusServiceImpl implements TaskStatusService {
     private final TaskStatusRepository taskStatusRepository;
     private final TaskRepository taskRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TaskCounterService taskCounterService;
 
     @Override
     public TaskStatus createNew(TaskStatusDto taskStatusDto) {
         final TaskStatus taskStatus = new TaskStatus();
         taskStatus.setName(taskStatusDto.getName());
-        return taskStatusRepository.save(taskStatus);
+        final TaskStatus saved = taskStatusRepository.save(taskStatus);
+        taskCounterService.createCounter(Dimension.STATUS, saved.getId());
+        return saved;
     }
 
     @Override
@@ -30,6 +36,7 @@ public class TaskStatusServiceImpl implements TaskStatusService {
         checkExisting(id);
         final TaskStatus taskStatus = taskStatusRepository.findById(id).get();
         taskStatus.setName(taskStatusDto.getName());
+        referenceDataCache.evictTaskStatus(id);
         return taskStatusRepository.save(taskStatus);
     }
 
@@ -42,6 +49,8 @@ public class TaskStatusServiceImpl implements TaskStatusService {
             throw new DataIntegrityViolationException("There are tasks with a deleted status");
         }
         taskStatusRepository.deleteById(id);
+        taskCounterService.removeCounter(Dimension.STATUS, id);
+        referenceDataCache.evictTaskStatus(id);
     }
 
     private void checkExisting(final long id) {
@@ -0,0 +1,70 @@
+package hexlet.code.service;
+
+import hexlet.code.component.TaskChangeSequence;
+import hexlet.code.dto.TaskChanges;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskTombstoneRepository;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Delta sync: which tasks changed or went away after a watermark, read through the change sequence indexes.
+ * The cost is proportional to the number of changes, not to the number of tasks.
+ * Deliberately not read-only: the watermark comes from this instance, so the changes under it have to be read
+ * from the primary, a lagging replica would make a client skip them for good.
+ */
+@Service
+@Transactional
+@AllArgsConstructor
+public class TaskSyncService {
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskChangeSequence taskChangeSequence;
+
+    /**
+     * Collects changes after a watermark, oldest first.
+     *
+     * @param since watermark of the previous sync, 0 for the first one
+     * @param limit maximum number of changed and deleted ids together
+     * @return ids of changed and deleted tasks and the watermark to continue from
+     */
+    public TaskChanges getChangesSince(final long since, final int limit) {
+        final long upTo = taskChangeSequence.watermark();
+        if (since > upTo) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Watermark is unknown, sync from scratch");
+        }
+        final PageRequest page = PageRequest.ofSize(limit + 1);
+        final List<Object[]> changed = taskRepository.findChangedBetween(since, upTo, page);
+        final List<Object[]> deleted = taskTombstoneRepository.findDeletedBetween(since, upTo, page);
+
+        final TaskChanges changes = new TaskChanges(new ArrayList<>(), new ArrayList<>(), upTo, false);
+        int changedIndex = 0;
+        int deletedIndex = 0;
+        while (changedIndex < changed.size() || deletedIndex < deleted.size()) {
+            final boolean takeChanged = deletedIndex == deleted.size()
+                    || changedIndex < changed.size()
+                    && sequenceOf(changed.get(changedIndex)) < sequenceOf(deleted.get(deletedIndex));
+            final Object[] row = takeChanged ? changed.get(changedIndex++) : deleted.get(deletedIndex++);
+            if (changes.getChanged().size() + changes.getDeleted().size() == limit) {
+                changes.setMore(true);
+                break;
+            }
+            (takeChanged ? changes.getChanged() : changes.getDeleted()).add((Long) row[0]);
+            changes.setWatermark(sequenceOf(row));
+        }
+        if (!changes.isMore()) {
+            changes.setWatermark(upTo);
+        }
+        return changes;
+    }
+
+    private static long sequenceOf(final Object[] row) {
+        return (Long) row[1];
+    }
+}
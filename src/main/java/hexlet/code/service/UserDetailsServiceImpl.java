@@ -1,13 +1,12 @@
 package hexlet.code.service;
 
-import hexlet.code.model.User;
+import hexlet.code.config.security.SecurityUser;
 import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
 
 @Service
 @RequiredArgsConstructor
@@ -17,14 +16,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByEmail(username)
-                .map(this::getSpringSecurityUser)
+                .map(SecurityUser::new)
                 .orElseThrow(() -> new UsernameNotFoundException("Not found user with 'username': " + username));
     }
-
-    private UserDetails getSpringSecurityUser(User user) {
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                DEFAULT_AUTHORITIES);
-    }
 }
@@ -1,6 +1,7 @@
 package hexlet.code.service;
 
 import hexlet.code.dto.UserDto;
+import hexlet.code.model.TaskCounterId.Dimension;
 import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.UserRepository;
@@ -18,6 +19,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
+    private final TaskCounterService taskCounterService;
 
     @Override
     public User createNew(UserDto userDto) {
@@ -26,7 +28,9 @@ public class UserServiceImpl implements UserService {
         newUser.setFirstName(userDto.getFirstName());
         newUser.setLastName(userDto.getLastName());
         newUser.setPassword(passwordEncoder.encode(userDto.getPassword()));
-        return userRepository.save(newUser);
+        final User saved = userRepository.save(newUser);
+        taskCounterService.createCounter(Dimension.EXECUTOR, saved.getId());
+        return saved;
     }
 
     @Override
@@ -46,6 +50,7 @@ public class UserServiceImpl implements UserService {
         }
         if (!taskRepository.existsByAuthor(userRepository.findById(id).get())) {
             userRepository.deleteById(id);
+            taskCounterService.removeCounter(Dimension.EXECUTOR, id);
         } else {
             throw new DataIntegrityViolationException("There are tasks where the author is the user being deleted");
         }
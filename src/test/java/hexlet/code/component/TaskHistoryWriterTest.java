@@ -0,0 +1,68 @@
+package hexlet.code.component;
+
+import hexlet.code.model.TaskHistoryEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskHistoryWriterTest {
+    private static final Duration OFFER_TIMEOUT = Duration.ofMillis(300);
+
+    @Test
+    void testFullQueueWaitsOnceForTheWholeAppend() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BlockingJdbcTemplate jdbcTemplate = new BlockingJdbcTemplate();
+        TaskHistoryWriter writer = new TaskHistoryWriter(jdbcTemplate, meterRegistry, 1, 10, OFFER_TIMEOUT,
+                Duration.ofSeconds(5));
+
+        // the writer thread takes the first entry and hangs in the insert, the queue is left with one slot
+        writer.append(entries(1));
+        assertThat(jdbcTemplate.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        writer.append(entries(5));
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(meterRegistry.counter("tasks.history.dropped").count()).isEqualTo(4);
+        assertThat(waited).isGreaterThanOrEqualTo(OFFER_TIMEOUT.toMillis())
+                .isLessThan(2 * OFFER_TIMEOUT.toMillis());
+
+        jdbcTemplate.release.countDown();
+        writer.shutdown();
+        assertThat(meterRegistry.counter("tasks.history.written").count()).isEqualTo(2);
+    }
+
+    private static List<TaskHistoryEntry> entries(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> new TaskHistoryEntry(null, 1L, TaskHistoryEntry.Attribute.NAME, "old" + index,
+                        "new" + index, 1L, new Date()))
+                .toList();
+    }
+
+    private static final class BlockingJdbcTemplate extends JdbcTemplate {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new int[0][];
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package hexlet.code.component;
+
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_1;
+import static hexlet.code.utils.TestUtils.DEFAULT_USER_1;
+import static hexlet.code.utils.TestUtils.ID_PATH_VAR;
+import static hexlet.code.utils.TestUtils.toJSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class)
+public class TaskSearchIndexIT {
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        testUtils.addUser(DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_1, DEFAULT_USER_1);
+    }
+
+    @AfterEach
+    void afterEach() {
+        testUtils.clear();
+    }
+
+    @Test
+    void testChangesDuringRebuildAreKept() throws Exception {
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        testUtils.addTaskUnderUser(new TaskDto("draft", "", taskStatusId, null, List.of()), DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(new TaskDto("obsolete", "", taskStatusId, null, List.of()), DEFAULT_USER_1);
+        List<Long> ids = taskRepository.findAll().stream().map(Task::getId).sorted().toList();
+        Long renamedId = ids.get(0);
+        Long deletedId = ids.get(1);
+
+        // the rebuild has read both rows when they change, then indexes what it read
+        AtomicBoolean changed = new AtomicBoolean();
+        taskSearchIndex.rebuild(10, () -> {
+            if (changed.compareAndSet(false, true)) {
+                change(renamedId, deletedId, taskStatusId);
+            }
+        });
+
+        assertThat(taskSearchIndex.search("final")).containsExactly(renamedId);
+        assertThat(taskSearchIndex.search("draft")).isEmpty();
+        assertThat(taskSearchIndex.search("obsolete")).isEmpty();
+        assertThat(taskSearchIndex.isReady()).isTrue();
+    }
+
+    private void change(Long renamedId, Long deletedId, Long taskStatusId) {
+        try {
+            testUtils.performWithToken(put(TASK_CONTROLLER_PATH + ID_PATH_VAR, renamedId)
+                            .content(toJSON(new TaskDto("final", "", taskStatusId, null, List.of())))
+                            .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                    .andExpect(status().isOk());
+            testUtils.performWithToken(delete(TASK_CONTROLLER_PATH + ID_PATH_VAR, deletedId), DEFAULT_USER_1)
+                    .andExpect(status().isOk());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VerifiedTokenCacheTest {
+    private static final long EXPIRATION_SEC = 60;
+
+    private final CountingJWTHelper jwtHelper = new CountingJWTHelper();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtHelper, new SimpleMeterRegistry(), 100L, ticker);
+
+    @Test
+    void testRepeatedTokenIsVerifiedOnce() {
+        String token = jwtHelper.expiring(Map.of("username", "user1@example.com"));
+
+        Map<String, Object> first = cache.verify(token);
+        Map<String, Object> second = cache.verify(token);
+
+        assertThat(second).isEqualTo(first).containsEntry("username", "user1@example.com");
+        assertThat(jwtHelper.verified.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testEntryExpiresWithToken() {
+        String token = jwtHelper.expiring(Map.of("username", "user1@example.com"));
+        cache.verify(token);
+
+        // exp has a precision of seconds, so the entry may go up to a second before the configured expiration
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(EXPIRATION_SEC - 2));
+        cache.verify(token);
+        assertThat(jwtHelper.verified.get()).isEqualTo(1);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.verify(token);
+        assertThat(jwtHelper.verified.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = jwtHelper.expiring(Map.of("username", "user1@example.com"));
+        String other = jwtHelper.expiring(Map.of("username", "user2@example.com"));
+        cache.verify(token);
+
+        // claims of another user under the signature of the cached token
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + other.split("\\.")[1] + "." + parts[2];
+
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(SignatureException.class);
+        assertThat(jwtHelper.verified.get()).isEqualTo(3);
+    }
+
+    private static final class CountingJWTHelper extends JWTHelper {
+        private final AtomicInteger verified = new AtomicInteger();
+
+        CountingJWTHelper() {
+            super("proj5", EXPIRATION_SEC, 300L, "secret");
+        }
+
+        @Override
+        public Map<String, Object> verify(String token) {
+            verified.incrementAndGet();
+            return super.verify(token);
+        }
+    }
+}
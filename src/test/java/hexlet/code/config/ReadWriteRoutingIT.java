@@ -0,0 +1,111 @@
+package hexlet.code.config;
+
+import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import static hexlet.code.config.ReplicaRouter.ROUTED_METRIC;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+import static hexlet.code.controller.TaskStatusController.STATUS_CONTROLLER_PATH;
+import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_1;
+import static hexlet.code.utils.TestUtils.DEFAULT_USER_1;
+import static hexlet.code.utils.TestUtils.DEFAULT_USER_2;
+import static hexlet.code.utils.TestUtils.toJSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the replica is the primary database itself, its lag is whatever the replica_lag table says
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+    "tasks.datasource.replica.jdbc-url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+    "tasks.datasource.replica.username=sa",
+    "tasks.datasource.replica.lag-query=select coalesce(max(seconds), 0) from replica_lag",
+    "tasks.datasource.replica.lag-check-interval=PT1H"
+})
+public class ReadWriteRoutingIT {
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private ReplicaRouter replicaRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        jdbcTemplate.execute("create table if not exists replica_lag (seconds double)");
+        replicaRouter.checkLag();
+        testUtils.addUser(DEFAULT_USER_1);
+    }
+
+    @AfterEach
+    void clearBase() {
+        jdbcTemplate.execute("drop table replica_lag");
+        testUtils.clear();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() throws Exception {
+        final double before = routed("replica");
+
+        testUtils.performWithoutToken(get(USER_CONTROLLER_PATH)).andExpect(status().isOk());
+
+        assertThat(routed("replica")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void testUserReadsOwnWritesFromPrimary() throws Exception {
+        testUtils.addUser(DEFAULT_USER_2);
+        testUtils.performWithToken(post(STATUS_CONTROLLER_PATH)
+                        .content(toJSON(DEFAULT_TASK_STATUS_1))
+                        .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                .andExpect(status().isCreated());
+        final double before = routed("replica");
+
+        testUtils.performWithToken(get(TASK_CONTROLLER_PATH), DEFAULT_USER_1).andExpect(status().isOk());
+        assertThat(routed("replica")).isEqualTo(before);
+
+        testUtils.performWithToken(get(TASK_CONTROLLER_PATH), DEFAULT_USER_2).andExpect(status().isOk());
+        assertThat(routed("replica")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() throws Exception {
+        jdbcTemplate.update("insert into replica_lag values (60)");
+        replicaRouter.checkLag();
+        final double before = routed("replica");
+
+        testUtils.performWithoutToken(get(USER_CONTROLLER_PATH)).andExpect(status().isOk());
+        assertThat(routed("replica")).isEqualTo(before);
+
+        jdbcTemplate.update("delete from replica_lag");
+        replicaRouter.checkLag();
+        testUtils.performWithoutToken(get(USER_CONTROLLER_PATH)).andExpect(status().isOk());
+        assertThat(routed("replica")).isEqualTo(before + 1);
+    }
+
+    private double routed(final String target) {
+        return meterRegistry.get(ROUTED_METRIC).tag("target", target).counter().count();
+    }
+}
@@ -1,10 +1,12 @@
 package hexlet.code.config;
 
+import hexlet.code.reporting.StubErrorTransport;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.web.client.RestTemplate;
@@ -24,4 +26,10 @@ public class SpringConfigForIT {
     public RestTemplate restTemplate() {
         return new RestTemplateBuilder().build();
     }
+
+    @Bean
+    @Primary
+    public StubErrorTransport stubErrorTransport() {
+        return new StubErrorTransport();
+    }
 }
@@ -0,0 +1,92 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import java.util.List;
+import java.util.Map;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.controller.BoardController.BOARD_CONTROLLER_PATH;
+import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_1;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_2;
+import static hexlet.code.utils.TestUtils.DEFAULT_USER_1;
+import static hexlet.code.utils.TestUtils.fromJSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class)
+public class BoardControllerIT {
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        testUtils.addUser(DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_1, DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_2, DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(new TaskStatusDto("empty"), DEFAULT_USER_1);
+    }
+
+    @AfterEach
+    void afterEach() {
+        testUtils.clear();
+    }
+
+    @Test
+    void testGetBoard() throws Exception {
+        List<TaskStatus> statuses = taskStatusRepository.findAll();
+        Long statusId1 = statuses.get(0).getId();
+        Long statusId2 = statuses.get(1).getId();
+        for (String name : List.of("task1", "task2", "task3")) {
+            testUtils.addTaskUnderUser(new TaskDto(name, "desc", statusId1, null, List.of()), DEFAULT_USER_1);
+        }
+        testUtils.addTaskUnderUser(new TaskDto("task4", "desc", statusId2, null, List.of()), DEFAULT_USER_1);
+
+        MockHttpServletRequestBuilder req = get(BOARD_CONTROLLER_PATH + "?size=2");
+        testUtils.performWithoutToken(req).andExpect(status().isForbidden());
+        String boardAsJSON = testUtils.getPerfomAuthorizedResultAsString(req, DEFAULT_USER_1);
+        List<Map<String, Object>> board = fromJSON(boardAsJSON, new TypeReference<>() { });
+
+        assertThat(board).hasSize(3);
+        assertThat(board).extracting(column -> column.get("statusName"))
+                .containsExactly(DEFAULT_TASK_STATUS_1.getName(), DEFAULT_TASK_STATUS_2.getName(), "empty");
+        assertThat(board).extracting(column -> column.get("total")).containsExactly(3, 1, 0);
+        assertThat(namesOf(board.get(0).get("tasks"))).containsExactly("task1", "task2");
+        assertThat(board.get(1).get("tasks")).asList().hasSize(1);
+        assertThat(board.get(1).get("nextCursor")).isNull();
+        assertThat(board.get(2).get("tasks")).asList().isEmpty();
+
+        MockHttpServletRequestBuilder nextReq = get(TASK_CONTROLLER_PATH + "?taskStatus=" + statusId1
+                + "&size=2&cursor=" + board.get(0).get("nextCursor"));
+        String nextAsJSON = testUtils.getPerfomAuthorizedResultAsString(nextReq, DEFAULT_USER_1);
+        Map<String, Object> next = fromJSON(nextAsJSON, new TypeReference<>() { });
+        assertThat(namesOf(next.get("content"))).containsExactly("task3");
+    }
+
+    private static List<String> namesOf(Object tasks) {
+        return ((List<?>) tasks).stream().map(task -> (String) ((Map<?, ?>) task).get("name")).toList();
+    }
+}
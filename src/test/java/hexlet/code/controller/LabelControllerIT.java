@@ -6,6 +6,7 @@ import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +44,11 @@ public class LabelControllerIT {
     @Autowired
     private LabelRepository labelRepository;
 
+    @BeforeEach
+    void beforeEach() throws Exception {
+        testUtils.addUser(DEFAULT_USER_1);
+    }
+
     @AfterEach
     void clearBase() {
         testUtils.clear();
@@ -1,19 +1,32 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.component.TaskSearchIndex;
 import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.CursorPage;
 import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskAggregates;
+import hexlet.code.dto.TaskBatchResult;
+import hexlet.code.dto.TaskChanges;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskImportStatus;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
+import hexlet.code.model.TaskCounter;
+import hexlet.code.model.TaskCounterId;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskCounterRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskCounterService;
 import hexlet.code.utils.TestUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,24 +34,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import static hexlet.code.controller.TaskStatusController.STATUS_CONTROLLER_PATH;
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static hexlet.code.utils.TestUtils.DEFAULT_USER_1;
 import static hexlet.code.utils.TestUtils.DEFAULT_USER_2;
 import static hexlet.code.utils.TestUtils.DEFAULT_LABEL;
 import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_1;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_2;
 import static hexlet.code.utils.TestUtils.ID_PATH_VAR;
 import static hexlet.code.utils.TestUtils.toJSON;
 import static hexlet.code.utils.TestUtils.fromJSON;
@@ -67,6 +89,18 @@ public class TaskControllerIT {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
     @BeforeEach
     void beforeEach() throws Exception {
         testUtils.addUser(DEFAULT_USER_1);
@@ -97,7 +131,7 @@ public class TaskControllerIT {
         assertThat(task.getAuthor().getId()).isEqualTo(userId);
         assertThat(task.getExecutor().getId()).isEqualTo(taskDto.getExecutorId());
         assertThat(task.getTaskStatus().getId()).isEqualTo(taskDto.getTaskStatusId());
-        assertThat(task.getLabels().get(0).getName()).isEqualTo(DEFAULT_LABEL.getName());
+        assertThat(task.getLabels().iterator().next().getName()).isEqualTo(DEFAULT_LABEL.getName());
 
         TaskDto taskDtoBadName = new TaskDto("", "k", taskStatusId, userId, userId, labelsIds);
         testUtils.addTaskUnderUser(taskDtoBadName, DEFAULT_USER_1)
@@ -105,6 +139,11 @@ public class TaskControllerIT {
 
         testUtils.addTaskUnauthorized(taskDtoBadName)
                 .andExpect(status().isForbidden());
+
+        TaskDto taskDtoUnknownLabel = new TaskDto("name", "k", taskStatusId, null, List.of(labelsIds.get(0) + 100));
+        testUtils.addTaskUnderUser(taskDtoUnknownLabel, DEFAULT_USER_1)
+                .andExpect(status().isNotFound());
+        assertEquals(taskRepository.count(), 1);
     }
     @Test
     void testGeTasksById() throws Exception {
@@ -151,6 +190,40 @@ public class TaskControllerIT {
         assertThat(tasksUnauthorized).hasSize(2);
     }
 
+    @Test
+    void testGetTaskPageStatementCount() throws Exception {
+        testUtils.addUser(DEFAULT_USER_2);
+        testUtils.addLabelUnderUser(new LabelDto("label 2"), DEFAULT_USER_1);
+        List<Long> userIds = userRepository.findAll().stream().map(User::getId).toList();
+        List<Long> labelIds = labelRepository.findAll().stream().map(Label::getId).toList();
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        for (int i = 0; i < 25; i++) {
+            testUtils.addTaskUnderUser(new TaskDto("task" + i, "desc", taskStatusId, userIds.get(i % 2), labelIds),
+                    DEFAULT_USER_1);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        // the token is made up front, making it reads the user
+        String token = testUtils.tokenOf(DEFAULT_USER_1);
+        try {
+            statistics.clear();
+            String tasksAsJSON = testUtils.performWithoutToken(get(TASK_CONTROLLER_PATH)
+                            .param("page", "0").param("size", "20")
+                            .header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Task> tasks = fromJSON(tasksAsJSON, new TypeReference<>() { });
+            assertThat(tasks).hasSize(20).allSatisfy(task -> assertThat(task.getLabels()).hasSize(2));
+            // one query for the tasks with status, author and executor, one for the labels of the page
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     @Test
     void testFilteredGettingTasks() throws Exception {
         testUtils.addUser(DEFAULT_USER_2);
@@ -201,6 +274,310 @@ public class TaskControllerIT {
         assertEquals(tasks3.size(), 0);
     }
 
+    @Test
+    void testSearchTasks() throws Exception {
+        testUtils.addTaskStatusUnderUser(new TaskStatusDto("status 2"), DEFAULT_USER_1);
+        List<TaskStatus> statuses = taskStatusRepository.findAll();
+        Long taskStatusId1 = statuses.get(0).getId();
+        Long taskStatusId2 = statuses.get(1).getId();
+        testUtils.addTaskUnderUser(
+                new TaskDto("Write docs", "Describe the login flow", taskStatusId1, null, List.of()), DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(
+                new TaskDto("Fix login page", "Broken form", taskStatusId2, null, List.of()), DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(
+                new TaskDto("Refactor", "Cleanup", taskStatusId1, null, List.of()), DEFAULT_USER_1);
+
+        List<Task> found = searchTasks("?q=login");
+        assertThat(found).extracting(Task::getName).containsExactly("Fix login page", "Write docs");
+        assertThat(searchTasks("?q=LOG")).hasSize(2);
+        assertThat(searchTasks("?q=login+docs")).extracting(Task::getName).containsExactly("Write docs");
+        assertThat(searchTasks("?q=login&taskStatus=" + taskStatusId1)).extracting(Task::getName)
+                .containsExactly("Write docs");
+        assertThat(searchTasks("?q=login&page=1&size=1")).extracting(Task::getName)
+                .containsExactly("Write docs");
+        assertThat(searchTasks("?q=unknown")).isEmpty();
+
+        MockHttpServletRequestBuilder deleteReq = delete(TASK_CONTROLLER_PATH + ID_PATH_VAR, found.get(0).getId());
+        testUtils.performWithToken(deleteReq, DEFAULT_USER_1).andExpect(status().isOk());
+        MockHttpServletRequestBuilder updateReq = put(TASK_CONTROLLER_PATH + ID_PATH_VAR, found.get(1).getId())
+                .content(toJSON(new TaskDto("Write docs", "Describe signup", taskStatusId1, null, List.of())))
+                .contentType(MediaType.APPLICATION_JSON);
+        testUtils.performWithToken(updateReq, DEFAULT_USER_1).andExpect(status().isOk());
+        assertThat(searchTasks("?q=login")).isEmpty();
+        assertThat(searchTasks("?q=signup")).hasSize(1);
+    }
+
+    @Test
+    void testSearchFilterMatchesTaskRankedLast() throws Exception {
+        testUtils.addTaskStatusUnderUser(new TaskStatusDto("status 2"), DEFAULT_USER_1);
+        List<TaskStatus> statuses = taskStatusRepository.findAll();
+        Long taskStatusId2 = statuses.get(1).getId();
+        // more matches than the repository filters at once, saved directly for speed; equal scores rank by id
+        User author = userRepository.findAll().get(0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Task();
+            task.setName("report " + i);
+            task.setTaskStatus(statuses.get(0));
+            task.setAuthor(author);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        taskSearchIndex.rebuild();
+        testUtils.addTaskUnderUser(new TaskDto("report last", "", taskStatusId2, null, List.of()), DEFAULT_USER_1);
+
+        assertThat(searchTasks("?q=report&taskStatus=" + taskStatusId2)).extracting(Task::getName)
+                .containsExactly("report last");
+        assertThat(searchTasks("?q=report&page=1&size=1000")).extracting(Task::getName)
+                .containsExactly("report last");
+    }
+
+    private List<Task> searchTasks(String query) throws Exception {
+        MockHttpServletRequestBuilder req = get(TASK_CONTROLLER_PATH + "/search" + query);
+        String tasksAsJSON = testUtils.getPerfomAuthorizedResultAsString(req, DEFAULT_USER_1);
+        return fromJSON(tasksAsJSON, new TypeReference<>() { });
+    }
+
+    @Test
+    void testTaskAggregates() throws Exception {
+        testUtils.addLabelUnderUser(new LabelDto("label 2"), DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(new TaskStatusDto("status 2"), DEFAULT_USER_1);
+        Long userId = userRepository.findAll().get(0).getId();
+        List<Label> labels = labelRepository.findAll();
+        Long labelId1 = labels.get(0).getId();
+        Long labelId2 = labels.get(1).getId();
+        List<TaskStatus> statuses = taskStatusRepository.findAll();
+        Long taskStatusId1 = statuses.get(0).getId();
+        Long taskStatusId2 = statuses.get(1).getId();
+
+        testUtils.addTaskUnderUser(
+                new TaskDto("task1", "desc", taskStatusId1, userId, List.of(labelId1)), DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(
+                new TaskDto("task2", "desc", taskStatusId1, null, List.of(labelId1, labelId2)), DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(
+                new TaskDto("task3", "desc", taskStatusId2, userId, List.of()), DEFAULT_USER_1);
+
+        TaskAggregates aggregates = getAggregates();
+        assertThat(aggregates.getTotal()).isEqualTo(3);
+        assertThat(aggregates.getByStatus()).containsEntry(taskStatusId1, 2L).containsEntry(taskStatusId2, 1L);
+        assertThat(aggregates.getByExecutor()).containsExactlyEntriesOf(Map.of(userId, 2L));
+        assertThat(aggregates.getWithoutExecutor()).isEqualTo(1);
+        assertThat(aggregates.getByLabel()).containsEntry(labelId1, 2L).containsEntry(labelId2, 1L);
+
+        Task task1 = taskRepository.findAll().stream().filter(task -> task.getName().equals("task1")).findFirst().get();
+        MockHttpServletRequestBuilder updateReq = put(TASK_CONTROLLER_PATH + ID_PATH_VAR, task1.getId())
+                .content(toJSON(new TaskDto("task1", "desc", taskStatusId2, null, List.of(labelId2))))
+                .contentType(MediaType.APPLICATION_JSON);
+        testUtils.performWithToken(updateReq, DEFAULT_USER_1).andExpect(status().isOk());
+        testUtils.performWithToken(delete(TASK_CONTROLLER_PATH + ID_PATH_VAR, task1.getId()), DEFAULT_USER_1)
+                .andExpect(status().isOk());
+
+        aggregates = getAggregates();
+        assertThat(aggregates.getTotal()).isEqualTo(2);
+        assertThat(aggregates.getByStatus()).containsEntry(taskStatusId1, 1L).containsEntry(taskStatusId2, 1L);
+        assertThat(aggregates.getWithoutExecutor()).isEqualTo(1);
+        assertThat(aggregates.getByLabel()).containsEntry(labelId1, 1L).containsEntry(labelId2, 1L);
+
+        TaskCounterId statusCounterId = new TaskCounterId(TaskCounterId.Dimension.STATUS, taskStatusId1);
+        taskCounterRepository.save(new TaskCounter(statusCounterId, 42));
+        taskCounterService.reconcile();
+        assertThat(getAggregates().getByStatus()).containsEntry(taskStatusId1, 1L);
+    }
+
+    private TaskAggregates getAggregates() throws Exception {
+        MockHttpServletRequestBuilder req = get(TASK_CONTROLLER_PATH + "/aggregates");
+        return fromJSON(testUtils.getPerfomAuthorizedResultAsString(req, DEFAULT_USER_1), new TypeReference<>() { });
+    }
+
+    @Test
+    void testGetTasksByCursor() throws Exception {
+        Long userId = userRepository.findAll().get(0).getId();
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Long> labelsIds = List.of(labelRepository.findAll().get(0).getId());
+        TaskDto taskDto1 = new TaskDto("taskName1", "taskDesc1", taskStatusId, userId, labelsIds);
+        TaskDto taskDto2 = new TaskDto("taskName2", "taskDesc2", taskStatusId, userId, labelsIds);
+        TaskDto taskDto3 = new TaskDto("taskName3", "taskDesc3", taskStatusId, userId, labelsIds);
+        testUtils.addTaskUnderUser(taskDto1, DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(taskDto2, DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(taskDto3, DEFAULT_USER_1);
+
+        MockHttpServletRequestBuilder firstReq = get(TASK_CONTROLLER_PATH + "?cursor=&size=2");
+        CursorPage<Task> firstPage = fromJSON(
+                testUtils.getPerfomAuthorizedResultAsString(firstReq, DEFAULT_USER_1),
+                new TypeReference<CursorPage<Task>>() { });
+        assertThat(firstPage.getContent()).extracting(Task::getName).containsExactly("taskName1", "taskName2");
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        MockHttpServletRequestBuilder secondReq = get(
+                TASK_CONTROLLER_PATH + "?size=2&cursor=" + firstPage.getNextCursor());
+        CursorPage<Task> secondPage = fromJSON(
+                testUtils.getPerfomAuthorizedResultAsString(secondReq, DEFAULT_USER_1),
+                new TypeReference<CursorPage<Task>>() { });
+        assertThat(secondPage.getContent()).extracting(Task::getName).containsExactly("taskName3");
+        assertThat(secondPage.getNextCursor()).isNull();
+
+        MockHttpServletRequestBuilder filteredReq = get(
+                TASK_CONTROLLER_PATH + "?size=1&name=Name1&cursor=" + firstPage.getNextCursor());
+        CursorPage<Task> filteredPage = fromJSON(
+                testUtils.getPerfomAuthorizedResultAsString(filteredReq, DEFAULT_USER_1),
+                new TypeReference<CursorPage<Task>>() { });
+        assertThat(filteredPage.getContent()).isEmpty();
+        assertThat(filteredPage.getNextCursor()).isNull();
+
+        testUtils.performWithToken(get(TASK_CONTROLLER_PATH + "?cursor=bad"), DEFAULT_USER_1)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetTaskHistory() throws Exception {
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Long> labelsIds = List.of(labelRepository.findAll().get(0).getId());
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_2, DEFAULT_USER_1);
+        Long otherStatusId = taskStatusRepository.findAll().stream()
+                .filter(taskStatus -> !taskStatus.getId().equals(taskStatusId))
+                .findFirst().get().getId();
+        testUtils.addTaskUnderUser(new TaskDto("taskName", "taskDesc", taskStatusId, null, labelsIds), DEFAULT_USER_1);
+        Long id = taskRepository.findAll().get(0).getId();
+        testUtils.performWithToken(put(TASK_CONTROLLER_PATH + ID_PATH_VAR, id)
+                        .content(toJSON(new TaskDto("renamed", "taskDesc", otherStatusId, null, labelsIds)))
+                        .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                .andExpect(status().isOk());
+
+        // name, description, status and labels on create, then name and status on update
+        List<Map<String, Object>> history = awaitHistory(id, 6);
+        assertThat(history).extracting(entry -> entry.get("attribute"))
+                .containsExactly("NAME", "DESCRIPTION", "STATUS", "LABELS", "NAME", "STATUS");
+        assertThat(history.get(4)).containsEntry("oldValue", "taskName").containsEntry("newValue", "renamed");
+
+        String firstPageAsJSON = testUtils.getPerfomAuthorizedResultAsString(
+                get(TASK_CONTROLLER_PATH + ID_PATH_VAR + "/history", id).param("size", "4"), DEFAULT_USER_1);
+        CursorPage<Map<String, Object>> firstPage = fromJSON(firstPageAsJSON, new TypeReference<>() { });
+        assertThat(firstPage.getContent()).hasSize(4);
+        String secondPageAsJSON = testUtils.getPerfomAuthorizedResultAsString(
+                get(TASK_CONTROLLER_PATH + ID_PATH_VAR + "/history", id)
+                        .param("size", "4")
+                        .param("cursor", firstPage.getNextCursor()), DEFAULT_USER_1);
+        CursorPage<Map<String, Object>> secondPage = fromJSON(secondPageAsJSON, new TypeReference<>() { });
+        assertThat(secondPage.getContent()).extracting(entry -> entry.get("attribute"))
+                .containsExactly("NAME", "STATUS");
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    private List<Map<String, Object>> awaitHistory(Long id, int expectedSize) throws Exception {
+        MockHttpServletRequestBuilder req = get(TASK_CONTROLLER_PATH + ID_PATH_VAR + "/history", id)
+                .param("size", "100");
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String historyAsJSON = testUtils.getPerfomAuthorizedResultAsString(req, DEFAULT_USER_1);
+            CursorPage<Map<String, Object>> history = fromJSON(historyAsJSON, new TypeReference<>() { });
+            if (history.getContent().size() >= expectedSize) {
+                return history.getContent();
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("History was not written in time");
+    }
+
+    @Test
+    void testGetTaskChangesSinceWatermark() throws Exception {
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Long> labelsIds = List.of(labelRepository.findAll().get(0).getId());
+        long start = getChanges(0, 1000).getWatermark();
+
+        testUtils.addTaskUnderUser(new TaskDto("first", "desc", taskStatusId, null, labelsIds), DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(new TaskDto("second", "desc", taskStatusId, null, labelsIds), DEFAULT_USER_1);
+        Long firstId = taskRepository.findAll().stream().filter(task -> task.getName().equals("first"))
+                .findFirst().get().getId();
+        Long secondId = taskRepository.findAll().stream().filter(task -> task.getName().equals("second"))
+                .findFirst().get().getId();
+        TaskChanges created = getChanges(start, 1000);
+        assertThat(created.getChanged()).containsExactly(firstId, secondId);
+        assertThat(created.getDeleted()).isEmpty();
+        assertThat(created.isMore()).isFalse();
+
+        testUtils.performWithToken(put(TASK_CONTROLLER_PATH + ID_PATH_VAR, firstId)
+                        .content(toJSON(new TaskDto("renamed", "desc", taskStatusId, null, labelsIds)))
+                        .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                .andExpect(status().isOk());
+        testUtils.performWithToken(delete(TASK_CONTROLLER_PATH + ID_PATH_VAR, secondId), DEFAULT_USER_1)
+                .andExpect(status().isOk());
+
+        TaskChanges firstPage = getChanges(created.getWatermark(), 1);
+        assertThat(firstPage.getChanged()).containsExactly(firstId);
+        assertThat(firstPage.getDeleted()).isEmpty();
+        assertThat(firstPage.isMore()).isTrue();
+        TaskChanges secondPage = getChanges(firstPage.getWatermark(), 1);
+        assertThat(secondPage.getChanged()).isEmpty();
+        assertThat(secondPage.getDeleted()).containsExactly(secondId);
+        assertThat(secondPage.isMore()).isFalse();
+        assertThat(getChanges(secondPage.getWatermark(), 1000).getChanged()).isEmpty();
+
+        testUtils.performWithToken(get(TASK_CONTROLLER_PATH + "/changes")
+                        .param("since", String.valueOf(Long.MAX_VALUE)), DEFAULT_USER_1)
+                .andExpect(status().isGone());
+    }
+
+    private TaskChanges getChanges(long since, int limit) throws Exception {
+        String changesAsJSON = testUtils.getPerfomAuthorizedResultAsString(get(TASK_CONTROLLER_PATH + "/changes")
+                .param("since", String.valueOf(since))
+                .param("limit", String.valueOf(limit)), DEFAULT_USER_1);
+        return fromJSON(changesAsJSON, new TypeReference<>() { });
+    }
+
+    @Test
+    void testStreamTaskChanges() throws Exception {
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Long> labelsIds = List.of(labelRepository.findAll().get(0).getId());
+        MvcResult stream = testUtils.performWithToken(get(TASK_CONTROLLER_PATH + "/stream"), DEFAULT_USER_1)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        testUtils.addTaskUnderUser(new TaskDto("streamed1", "desc", taskStatusId, null, labelsIds), DEFAULT_USER_1);
+        String content = awaitStreamed(stream, "streamed1");
+        assertThat(content).contains("event:created");
+        String lastEventId = content.lines()
+                .filter(line -> line.startsWith("id:"))
+                .reduce((first, second) -> second)
+                .get()
+                .substring("id:".length());
+
+        testUtils.addTaskUnderUser(new TaskDto("streamed2", "desc", taskStatusId, null, labelsIds), DEFAULT_USER_1);
+        awaitStreamed(stream, "streamed2");
+        MvcResult resumed = testUtils.performWithToken(get(TASK_CONTROLLER_PATH + "/stream")
+                        .header("Last-Event-ID", lastEventId), DEFAULT_USER_1)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitStreamed(resumed, "streamed2")).doesNotContain("streamed1");
+
+        MvcResult lost = testUtils.performWithToken(get(TASK_CONTROLLER_PATH + "/stream")
+                        .header("Last-Event-ID", Long.MAX_VALUE), DEFAULT_USER_1)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitStreamed(lost, "event:reset");
+    }
+
+    @Test
+    void testExportTasks() throws Exception {
+        Long userId = userRepository.findAll().get(0).getId();
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Long> labelsIds = List.of(labelRepository.findAll().get(0).getId());
+        TaskDto taskDto1 = new TaskDto("taskName1", "taskDesc1", taskStatusId, userId, labelsIds);
+        TaskDto taskDto2 = new TaskDto("taskName2", "taskDesc2", taskStatusId, userId, labelsIds);
+        testUtils.addTaskUnderUser(taskDto1, DEFAULT_USER_1);
+        testUtils.addTaskUnderUser(taskDto2, DEFAULT_USER_1);
+
+        MockHttpServletRequestBuilder req = get(TASK_CONTROLLER_PATH + "/export?name=Name2");
+        MvcResult result = testUtils.performWithToken(req, DEFAULT_USER_1)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(1);
+        Task task = fromJSON(lines[0], new TypeReference<Task>() { });
+        assertThat(task.getName()).isEqualTo("taskName2");
+        assertThat(task.getLabels().iterator().next().getName()).isEqualTo(DEFAULT_LABEL.getName());
+    }
+
     @Test
     void testUpdateTask() throws Exception {
         testUtils.addUser(DEFAULT_USER_2);
@@ -235,9 +612,213 @@ public class TaskControllerIT {
         testUtils.performWithoutToken(reqUnauthorized)
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    void testDeleteAndUpdateMissingTask() throws Exception {
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        testUtils.addTaskUnderUser(new TaskDto("taskName", "taskDesc", taskStatusId, null, List.of()), DEFAULT_USER_1);
+        Long missingId = taskRepository.findAll().get(0).getId() + 100;
+
+        // deleting is checked against the author first, and a missing task has none
+        testUtils.performWithToken(delete(TASK_CONTROLLER_PATH + ID_PATH_VAR, missingId), DEFAULT_USER_1)
+                .andExpect(status().isForbidden());
+
+        MockHttpServletRequestBuilder req = put(TASK_CONTROLLER_PATH + ID_PATH_VAR, missingId)
+                .content(toJSON(new TaskDto("renamed", "taskDesc", taskStatusId, null, List.of())))
+                .contentType(MediaType.APPLICATION_JSON);
+        testUtils.performWithToken(req, DEFAULT_USER_1)
+                .andExpect(status().isNotFound());
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testConditionalGetAndUpdateTask() throws Exception {
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Long> labelsIds = List.of(labelRepository.findAll().get(0).getId());
+        testUtils.addTaskUnderUser(new TaskDto("taskName", "taskDesc", taskStatusId, null, labelsIds), DEFAULT_USER_1);
+        Long id = taskRepository.findAll().get(0).getId();
+
+        String etag = testUtils.performWithToken(get(TASK_CONTROLLER_PATH + ID_PATH_VAR, id), DEFAULT_USER_1)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        MvcResult notModified = testUtils.performWithToken(get(TASK_CONTROLLER_PATH + ID_PATH_VAR, id)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag), DEFAULT_USER_1)
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(notModified.getResponse().getContentAsString()).isEmpty();
+
+        TaskDto renamed = new TaskDto("renamed", "taskDesc", taskStatusId, null, labelsIds);
+        String newEtag = testUtils.performWithToken(put(TASK_CONTROLLER_PATH + ID_PATH_VAR, id)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content(toJSON(renamed))
+                        .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        testUtils.performWithToken(put(TASK_CONTROLLER_PATH + ID_PATH_VAR, id)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content(toJSON(new TaskDto("lost", "taskDesc", taskStatusId, null, labelsIds)))
+                        .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                .andExpect(status().isPreconditionFailed());
+        assertThat(taskRepository.findById(id).get().getName()).isEqualTo("renamed");
+
+        testUtils.performWithToken(put(STATUS_CONTROLLER_PATH + ID_PATH_VAR, taskStatusId)
+                        .content(toJSON(new TaskStatusDto("renamedStatus")))
+                        .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                .andExpect(status().isOk());
+        testUtils.performWithToken(get(TASK_CONTROLLER_PATH + ID_PATH_VAR, id)
+                        .header(HttpHeaders.IF_NONE_MATCH, newEtag), DEFAULT_USER_1)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testUpdateTaskLabels() throws Exception {
+        testUtils.addLabelUnderUser(new LabelDto("label2"), DEFAULT_USER_1);
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Label> labels = labelRepository.findAll();
+        List<Long> oneLabel = List.of(labels.get(0).getId());
+        List<Long> twoLabels = List.of(labels.get(0).getId(), labels.get(1).getId());
+
+        testUtils.addTaskUnderUser(new TaskDto("taskName", "taskDesc", taskStatusId, null, oneLabel), DEFAULT_USER_1);
+        Long id = taskRepository.findAll().get(0).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            testUtils.performWithToken(put(TASK_CONTROLLER_PATH + ID_PATH_VAR, id)
+                            .content(toJSON(new TaskDto("renamed", "taskDesc", taskStatusId, null, oneLabel)))
+                            .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                    .andExpect(status().isOk());
+            assertThat(statistics.getCollectionUpdateCount()).isZero();
+            assertThat(statistics.getCollectionRecreateCount()).isZero();
+            assertThat(statistics.getCollectionRemoveCount()).isZero();
+
+            statistics.clear();
+            testUtils.performWithToken(put(TASK_CONTROLLER_PATH + ID_PATH_VAR, id)
+                            .content(toJSON(new TaskDto("renamed", "taskDesc", taskStatusId, null, twoLabels)))
+                            .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                    .andExpect(status().isOk());
+            assertThat(statistics.getCollectionUpdateCount()).isEqualTo(1);
+            assertThat(statistics.getCollectionRecreateCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+        assertThat(taskRepository.findById(id).get().getLabels()).hasSize(2);
+    }
+
+    @Test
+    void testBatchCreateAndUpdateTasks() throws Exception {
+        Long userId = userRepository.findAll().get(0).getId();
+        Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
+        List<Long> labelsIds = List.of(labelRepository.findAll().get(0).getId());
+        List<TaskDto> taskDtos = List.of(
+                new TaskDto("batch1", "desc1", taskStatusId, userId, labelsIds),
+                new TaskDto("", "bad name", taskStatusId, userId, labelsIds),
+                new TaskDto("batch3", "unknown status", taskStatusId + 100, null, List.of())
+        );
+
+        MockHttpServletRequestBuilder createReq = post(TASK_CONTROLLER_PATH + "/batch")
+                .content(toJSON(taskDtos))
+                .contentType(MediaType.APPLICATION_JSON);
+        String createdAsJSON = testUtils.performWithToken(createReq, DEFAULT_USER_1)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<TaskBatchResult> created = fromJSON(createdAsJSON, new TypeReference<>() { });
+
+        assertThat(created).extracting(TaskBatchResult::getOutcome).containsExactly(
+                TaskBatchResult.Outcome.CREATED, TaskBatchResult.Outcome.INVALID, TaskBatchResult.Outcome.INVALID);
+        assertThat(created.get(2).getErrors()).hasSize(1);
+        assertThat(taskRepository.count()).isEqualTo(1);
+
+        Long id = created.get(0).getId();
+        Map<Long, TaskDto> updates = Map.of(
+                id, new TaskDto("batch1Updated", "desc1", taskStatusId, null, List.of()),
+                id + 100, new TaskDto("missing", "desc", taskStatusId, null, List.of())
+        );
+        MockHttpServletRequestBuilder updateReq = put(TASK_CONTROLLER_PATH + "/batch")
+                .content(toJSON(updates))
+                .contentType(MediaType.APPLICATION_JSON);
+        String updatedAsJSON = testUtils.performWithToken(updateReq, DEFAULT_USER_1)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<TaskBatchResult> updated = fromJSON(updatedAsJSON, new TypeReference<>() { });
+
+        assertThat(updated).extracting(TaskBatchResult::getOutcome).containsExactlyInAnyOrder(
+                TaskBatchResult.Outcome.UPDATED, TaskBatchResult.Outcome.NOT_FOUND);
+        Task task = taskRepository.findById(id).get();
+        assertThat(task.getName()).isEqualTo("batch1Updated");
+        assertThat(task.getExecutor()).isNull();
+        assertThat(task.getLabels()).isEmpty();
+    }
+
+    @Test
+    void testImportTasksFromCsv() throws Exception {
+        String csv = "name,description,status,executor,labels\n"
+                + "imported1,\"first, with comma\",status1,def1@email.com,defLabel\n"
+                + "imported2,,status1,,\n"
+                + "imported3,,unknownStatus,,defLabel|unknownLabel\n"
+                + ",no name,status1,,\n";
+        MockMultipartFile file = new MockMultipartFile("file", "tasks.csv", "text/csv", csv.getBytes());
+
+        String startedAsJSON = testUtils.performWithToken(multipart(TASK_CONTROLLER_PATH + "/import").file(file),
+                        DEFAULT_USER_1)
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String importId = fromJSON(startedAsJSON, new TypeReference<TaskImportStatus>() { }).getId();
+
+        TaskImportStatus importStatus = awaitImport(importId);
+        assertThat(importStatus.getState()).isEqualTo(TaskImportStatus.State.DONE);
+        assertThat(importStatus.getRowsRead()).isEqualTo(4);
+        assertThat(importStatus.getRowsImported()).isEqualTo(2);
+        assertThat(importStatus.getRowsFailed()).isEqualTo(2);
+        assertThat(importStatus.getErrors()).extracting(TaskImportStatus.RowError::getRow).containsExactly(3L, 4L);
+        assertThat(importStatus.getErrors().get(0).getMessages()).hasSize(2);
+
+        assertThat(taskRepository.count()).isEqualTo(2);
+        Task imported = taskRepository.findAll().stream()
+                .filter(task -> task.getName().equals("imported1"))
+                .findFirst().get();
+        assertThat(imported.getDescription()).isEqualTo("first, with comma");
+        assertThat(imported.getExecutor().getEmail()).isEqualTo(DEFAULT_USER_1.getEmail());
+        assertThat(imported.getLabels().iterator().next().getName()).isEqualTo(DEFAULT_LABEL.getName());
+
+        testUtils.performWithToken(get(TASK_CONTROLLER_PATH + "/import/{importId}", "unknown"), DEFAULT_USER_1)
+                .andExpect(status().isNotFound());
+    }
+
+    private static String awaitStreamed(MvcResult stream, String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String content = stream.getResponse().getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Stream did not send " + expected + " in time");
+    }
+
+    private TaskImportStatus awaitImport(String importId) throws Exception {
+        MockHttpServletRequestBuilder req = get(TASK_CONTROLLER_PATH + "/import/{importId}", importId);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String statusAsJSON = testUtils.getPerfomAuthorizedResultAsString(req, DEFAULT_USER_1);
+            TaskImportStatus importStatus = fromJSON(statusAsJSON, new TypeReference<>() { });
+            if (importStatus.getState() == TaskImportStatus.State.DONE
+                    || importStatus.getState() == TaskImportStatus.State.FAILED) {
+                return importStatus;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import did not finish in time");
+    }
+
     @Test
     void testDeleteTask() throws Exception {
         assertThat(taskRepository.count()).isEqualTo(0);
+        testUtils.addUser(DEFAULT_USER_2);
 
         Long userId = userRepository.findAll().get(0).getId();
         Long taskStatusId = taskStatusRepository.findAll().get(0).getId();
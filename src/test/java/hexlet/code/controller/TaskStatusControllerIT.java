@@ -6,6 +6,9 @@ import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.utils.TestUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -46,6 +49,9 @@ public class TaskStatusControllerIT {
     @Autowired
     private TaskStatusRepository taskStatusRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void beforeEach() throws Exception {
         testUtils.addUser(DEFAULT_USER_1);
@@ -129,4 +135,27 @@ public class TaskStatusControllerIT {
         TaskStatus updatedTaskStatus = fromJSON(updatedTaskStatusAsString, new TypeReference<>() { });
         assertThat(updatedTaskStatus.getName()).isEqualTo(taskStatusNew.getName());
     }
+
+    @Test
+    void testTaskStatusesServedFromSecondLevelCache() throws Exception {
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_1, DEFAULT_USER_1);
+        Long id = taskStatusRepository.findAll().get(0).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        testUtils.getPerfomUnauthorizedResultAsString(get(STATUS_CONTROLLER_PATH));
+        statistics.clear();
+        testUtils.getPerfomUnauthorizedResultAsString(get(STATUS_CONTROLLER_PATH));
+        testUtils.getPerfomUnauthorizedResultAsString(get(STATUS_CONTROLLER_PATH + ID_PATH_VAR, id));
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        testUtils.performWithToken(put(STATUS_CONTROLLER_PATH + ID_PATH_VAR, id)
+                        .content(toJSON(new TaskStatusDto("renamed")))
+                        .contentType(MediaType.APPLICATION_JSON), DEFAULT_USER_1)
+                .andExpect(status().isOk());
+        String respAsString = testUtils.getPerfomUnauthorizedResultAsString(get(STATUS_CONTROLLER_PATH));
+        List<TaskStatus> list = fromJSON(respAsString, new TypeReference<>() { });
+        assertThat(list).extracting(TaskStatus::getName).containsExactly("renamed");
+    }
 }
@@ -1,7 +1,11 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import hexlet.code.component.JWTHelper;
+import hexlet.code.component.VerifiedTokenCache;
 import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.config.security.AuthenticatedUser;
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
@@ -12,17 +16,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import java.util.List;
+import java.util.Map;
 import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
 import static hexlet.code.utils.TestUtils.toJSON;
 import static hexlet.code.utils.TestUtils.fromJSON;
 import static hexlet.code.utils.TestUtils.DEFAULT_USER_1;
 import static hexlet.code.utils.TestUtils.DEFAULT_USER_2;
 import static hexlet.code.utils.TestUtils.ID_PATH_VAR;
+import static hexlet.code.utils.TestUtils.SPRING_USER_USERNAME;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
@@ -43,6 +50,9 @@ public class UserControllerIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JWTHelper jwtHelper;
+
     @AfterEach
     void clearBase() {
         testUtils.clear();
@@ -83,6 +93,51 @@ public class UserControllerIT {
         assertEquals(userRepository.count(), 0);
     }
 
+    @Test
+    void testTokenWithoutIdIsUnauthorized() throws Exception {
+        testUtils.addUser(DEFAULT_USER_1);
+        Long id = userRepository.findByEmail(DEFAULT_USER_1.getEmail()).get().getId();
+        // claims as they were issued before the user id was added to them
+        String token = jwtHelper.expiring(Map.of(
+                SPRING_USER_USERNAME, DEFAULT_USER_1.getEmail(),
+                AuthenticatedUser.FIRST_NAME_CLAIM, DEFAULT_USER_1.getFirstName(),
+                AuthenticatedUser.LAST_NAME_CLAIM, DEFAULT_USER_1.getLastName()));
+
+        final MockHttpServletRequestBuilder req = delete(USER_CONTROLLER_PATH + ID_PATH_VAR, id)
+                .header(HttpHeaders.AUTHORIZATION, token);
+        testUtils.performWithoutToken(req).andExpect(status().isUnauthorized());
+        assertEquals(userRepository.count(), 1);
+    }
+
+    @Test
+    void testVerifiedTokenCacheMetrics() throws Exception {
+        testUtils.addUser(DEFAULT_USER_1);
+        User user = userRepository.findByEmail(DEFAULT_USER_1.getEmail()).get();
+        String token = jwtHelper.expiring(AuthenticatedUser.of(user).toClaims());
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        for (int i = 0; i < 2; i++) {
+            testUtils.performWithoutToken(put(USER_CONTROLLER_PATH + ID_PATH_VAR, user.getId())
+                            .header(HttpHeaders.AUTHORIZATION, token)
+                            .content(toJSON(DEFAULT_USER_1))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(cacheGets("miss")).isEqualTo(misses + 1);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    private double cacheGets(String result) throws Exception {
+        String metric = testUtils.performWithoutToken(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:" + VerifiedTokenCache.CACHE_NAME, "result:" + result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode measurements = fromJSON(metric, new TypeReference<JsonNode>() { }).path("measurements");
+        return measurements.path(0).path("value").asDouble();
+    }
+
     @Test
     void testDeleteUserBad() throws Exception {
         testUtils.addUser(DEFAULT_USER_1);
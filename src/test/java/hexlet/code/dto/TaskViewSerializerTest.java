@@ -0,0 +1,59 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.TaskView.LabelView;
+import hexlet.code.dto.TaskView.StatusView;
+import hexlet.code.dto.TaskView.UserView;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the object mapper as the application configures it, dates included
+@JsonTest
+public class TaskViewSerializerTest {
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void testTaskWithExecutorAndLabels() throws Exception {
+        TaskView task = TaskView.builder()
+                .id(1L)
+                .version(3L)
+                .name("Fix login")
+                .description("Broken \"form\"")
+                .taskStatus(new StatusView(2L, 1L, "new"))
+                .author(new UserView(3L, 1L, "Anna", "Ivanova"))
+                .executor(new UserView(4L, 2L, "Boris", "Petrov"))
+                .label(new LabelView(5L, 1L, "bug"))
+                .label(new LabelView(6L, 1L, "urgent"))
+                .createdAt(new Date(0))
+                .build();
+
+        // versions, emails and the createdAt of statuses, users and labels are not part of the response
+        assertThat(mapper.writeValueAsString(task)).isEqualTo("{\"id\":1,\"name\":\"Fix login\","
+                + "\"description\":\"Broken \\\"form\\\"\","
+                + "\"taskStatus\":{\"id\":2,\"name\":\"new\"},"
+                + "\"author\":{\"id\":3,\"firstName\":\"Anna\",\"lastName\":\"Ivanova\"},"
+                + "\"executor\":{\"id\":4,\"firstName\":\"Boris\",\"lastName\":\"Petrov\"},"
+                + "\"labels\":[{\"id\":5,\"name\":\"bug\"},{\"id\":6,\"name\":\"urgent\"}],"
+                + "\"createdAt\":\"1970-01-01T00:00:00.000+00:00\"}");
+    }
+
+    @Test
+    void testTaskWithoutExecutorAndLabels() throws Exception {
+        TaskView task = TaskView.builder()
+                .id(1L)
+                .version(0L)
+                .name("Fix login")
+                .taskStatus(new StatusView(2L, 0L, "new"))
+                .author(new UserView(3L, 0L, "Anna", "Ivanova"))
+                .build();
+
+        assertThat(mapper.writeValueAsString(task)).isEqualTo("{\"id\":1,\"name\":\"Fix login\",\"description\":null,"
+                + "\"taskStatus\":{\"id\":2,\"name\":\"new\"},"
+                + "\"author\":{\"id\":3,\"firstName\":\"Anna\",\"lastName\":\"Ivanova\"},"
+                + "\"executor\":null,\"labels\":[],\"createdAt\":null}");
+    }
+}
@@ -0,0 +1,351 @@
+package hexlet.code.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.DatasetGenerator;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Drives a running application with a mix of login, task list, filter, create, update and delete calls
+ * and reports latency percentiles per endpoint, see {@link LatencyReport}.
+ * Users sign in through the login endpoint as the dataset generator created them and send the token they got.
+ * The application under load must run with {@code --spring.jpa.hibernate.ddl-auto=update}, the default
+ * drops the generated schema and data on startup: {@code ./gradlew bootRun --args='--spring.profiles.active=dev
+ * --spring.jpa.hibernate.ddl-auto=update'}.
+ * Arrivals form an open model: requests start at Poisson distributed times at the given rate whether or not
+ * earlier ones have completed, and latency counts from the scheduled start, so a stalled server shows up
+ * in the percentiles instead of slowing the generator down.
+ * Every user first creates a few tasks of its own, updates and deletes go to the tasks of the user.
+ * Tune with -Dload.url, load.rate (requests per second), load.duration, load.warmup, load.users,
+ * load.password, load.mix, load.setup-tasks, load.max-in-flight, load.timeout, load.seed, load.report
+ * and load.baseline (the report of an earlier run to compare against).
+ */
+public final class HttpLoadGenerator {
+    private static final String URL = System.getProperty("load.url", "http://localhost:5001/api");
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "100"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT1M"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final int USERS = Integer.getInteger("load.users", 10);
+    private static final String PASSWORD = System.getProperty("load.password", DatasetGenerator.PASSWORD);
+    private static final String MIX = System.getProperty("load.mix",
+            "login=2,list=40,filter=25,create=15,update=12,delete=6");
+    private static final int SETUP_TASKS = Integer.getInteger("load.setup-tasks", 20);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 10000);
+    private static final Duration TIMEOUT = Duration.parse(System.getProperty("load.timeout", "PT10S"));
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final String REPORT = System.getProperty("load.report", "build/reports/load/report.json");
+    private static final String BASELINE = System.getProperty("load.baseline", "");
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGES = 50;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final LatencyReport report = new LatencyReport();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final List<User> users = new ArrayList<>();
+    private List<Long> statusIds;
+    private List<Long> userIds;
+    private List<Long> labelIds;
+
+    private HttpLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new HttpLoadGenerator().run();
+    }
+
+    private void run() throws Exception {
+        final Map<Operation, Integer> mix = parseMix(MIX);
+        setUp();
+        System.out.printf("Open model load on %s: %.1f req/s for %s after %s of warmup, %d users, mix %s%n",
+                URL, RATE, DURATION, WARMUP, USERS, MIX);
+
+        final Random random = new Random(SEED);
+        final Instant startedAt = Instant.now();
+        final int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        final long start = System.nanoTime();
+        final long measureFrom = start + WARMUP.toNanos();
+        final long end = measureFrom + DURATION.toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            // exponential gaps between arrivals make a Poisson process of the given rate
+            for (long scheduled = start + gap(random); scheduled < end; scheduled += gap(random)) {
+                final Operation operation = pick(mix, totalWeight, random.nextInt(totalWeight));
+                final User user = users.get(random.nextInt(users.size()));
+                final long requestSeed = random.nextLong();
+                final long intended = scheduled;
+                final boolean measured = scheduled >= measureFrom;
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+                if (inFlight.get() >= MAX_IN_FLIGHT) {
+                    if (measured) {
+                        report.dropped(operation.endpoint);
+                    }
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                requests.submit(() -> {
+                    try {
+                        execute(operation, user, new Random(requestSeed), intended, measured);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+
+        final JsonNode baseline = BASELINE.isEmpty() ? null : LatencyReport.read(Path.of(BASELINE));
+        report.print(DURATION, baseline);
+        final Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("startedAt", startedAt.toString());
+        settings.put("url", URL);
+        settings.put("rate", RATE);
+        settings.put("duration", DURATION.toString());
+        settings.put("warmup", WARMUP.toString());
+        settings.put("users", USERS);
+        settings.put("mix", MIX);
+        settings.put("seed", SEED);
+        report.write(Path.of(REPORT), settings, DURATION);
+        System.out.printf("%nReport written to %s%n", REPORT);
+    }
+
+    // signs every user in and gives it tasks of its own to update and delete
+    private void setUp() throws IOException, InterruptedException {
+        for (int index = 0; index < USERS; index++) {
+            final User user = new User("user" + index + "@example.com");
+            final HttpResponse<String> response = send(login(user));
+            if (response.statusCode() != HttpStatus.OK.value()) {
+                throw new IllegalStateException(String.format("Login as %s failed with %d, is the dataset generated?",
+                        user.email, response.statusCode()));
+            }
+            user.token = response.body().trim();
+            users.add(user);
+        }
+        statusIds = ids(users.get(0), "/statuses");
+        userIds = ids(users.get(0), "/users");
+        labelIds = ids(users.get(0), "/labels");
+        if (statusIds.isEmpty()) {
+            throw new IllegalStateException("No task statuses to create tasks with, is the dataset generated?");
+        }
+        final Random random = new Random(SEED);
+        for (User user : users) {
+            for (int count = 0; count < SETUP_TASKS; count++) {
+                final HttpResponse<String> response = send(create(user, random));
+                if (response.statusCode() != HttpStatus.CREATED.value()) {
+                    throw new IllegalStateException("Creating a task failed with " + response.statusCode());
+                }
+                user.addTask(MAPPER.readTree(response.body()).get("id").asLong());
+            }
+        }
+    }
+
+    private void execute(final Operation operation, final User user, final Random random, final long intended,
+                         final boolean measured) {
+        final HttpRequest request = switch (operation) {
+            case LOGIN -> login(user);
+            case LIST -> get(user, "/tasks?page=" + random.nextInt(PAGES) + "&size=" + PAGE_SIZE);
+            case FILTER -> get(user, "/tasks?taskStatus=" + any(statusIds, random)
+                    + (labelIds.isEmpty() ? "" : "&labels=" + any(labelIds, random)) + "&size=" + PAGE_SIZE);
+            case CREATE -> create(user, random);
+            case UPDATE -> user.anyTask(random).map(id -> update(user, id, random)).orElse(null);
+            case DELETE -> user.takeTask(random).map(id -> delete(user, id)).orElse(null);
+        };
+        if (request == null) {
+            if (measured) {
+                report.skipped(operation.endpoint);
+            }
+            return;
+        }
+        boolean success;
+        try {
+            final HttpResponse<String> response = send(request);
+            success = response.statusCode() == operation.expectedStatus.value();
+            if (success) {
+                afterSuccess(operation, user, response);
+            }
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            report.record(operation.endpoint, System.nanoTime() - intended, success);
+        }
+    }
+
+    private void afterSuccess(final Operation operation, final User user, final HttpResponse<String> response)
+            throws IOException {
+        if (operation == Operation.LOGIN) {
+            user.token = response.body().trim();
+        } else if (operation == Operation.CREATE) {
+            user.addTask(MAPPER.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    private HttpResponse<String> send(final HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest login(final User user) {
+        return json(URI.create(URL + "/login"))
+                .POST(body(Map.of("email", user.email, "password", PASSWORD)))
+                .build();
+    }
+
+    private HttpRequest get(final User user, final String path) {
+        return authorized(user, URI.create(URL + path)).GET().build();
+    }
+
+    private HttpRequest create(final User user, final Random random) {
+        return authorized(user, URI.create(URL + "/tasks")).POST(body(task(random))).build();
+    }
+
+    private HttpRequest update(final User user, final Long id, final Random random) {
+        return authorized(user, URI.create(URL + "/tasks/" + id)).PUT(body(task(random))).build();
+    }
+
+    private HttpRequest delete(final User user, final Long id) {
+        return authorized(user, URI.create(URL + "/tasks/" + id)).DELETE().build();
+    }
+
+    private HttpRequest.Builder authorized(final User user, final URI uri) {
+        return json(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + user.token);
+    }
+
+    private HttpRequest.Builder json(final URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private Map<String, Object> task(final Random random) {
+        final Map<String, Object> task = new HashMap<>();
+        task.put("name", "load task " + created.incrementAndGet());
+        task.put("description", "created by the load generator");
+        task.put("taskStatusId", any(statusIds, random));
+        if (random.nextBoolean() && !userIds.isEmpty()) {
+            task.put("executorId", any(userIds, random));
+        }
+        task.put("labelIds", labelIds.isEmpty() ? List.of() : List.of(any(labelIds, random)));
+        return task;
+    }
+
+    private List<Long> ids(final User user, final String path) throws IOException, InterruptedException {
+        final HttpResponse<String> response = send(get(user, path));
+        final List<Long> ids = new ArrayList<>();
+        MAPPER.readTree(response.body()).forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+
+    private static HttpRequest.BodyPublisher body(final Object value) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(value));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static Long any(final List<Long> ids, final Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static long gap(final Random random) {
+        return (long) (-Math.log(1 - random.nextDouble()) / RATE * NANOS_PER_SECOND);
+    }
+
+    private static Operation pick(final Map<Operation, Integer> mix, final int totalWeight, final int roll) {
+        int bound = 0;
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            bound += weight.getValue();
+            if (roll < bound) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Roll " + roll + " is out of the total weight " + totalWeight);
+    }
+
+    // login=2,list=40,... in any order, operations left out are not sent
+    private static Map<Operation, Integer> parseMix(final String mix) {
+        final Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry " + entry + " is not operation=weight");
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix " + mix + " has no weight");
+        }
+        return weights;
+    }
+
+    private enum Operation {
+        LOGIN("POST /login", HttpStatus.OK),
+        LIST("GET /tasks", HttpStatus.OK),
+        FILTER("GET /tasks?filter", HttpStatus.OK),
+        CREATE("POST /tasks", HttpStatus.CREATED),
+        UPDATE("PUT /tasks/{id}", HttpStatus.OK),
+        DELETE("DELETE /tasks/{id}", HttpStatus.OK);
+
+        private final String endpoint;
+        private final HttpStatus expectedStatus;
+
+        Operation(final String endpoint, final HttpStatus expectedStatus) {
+            this.endpoint = endpoint;
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    /**
+     * A signed in user with the ids of the tasks it created, only the author may delete a task.
+     */
+    private static final class User {
+        private final String email;
+        private final List<Long> taskIds = new ArrayList<>();
+        private volatile String token;
+
+        User(final String email) {
+            this.email = email;
+        }
+
+        synchronized void addTask(final Long id) {
+            taskIds.add(id);
+        }
+
+        synchronized Optional<Long> anyTask(final Random random) {
+            return taskIds.isEmpty() ? Optional.empty()
+                    : Optional.of(taskIds.get(random.nextInt(taskIds.size())));
+        }
+
+        synchronized Optional<Long> takeTask(final Random random) {
+            return taskIds.isEmpty() ? Optional.empty()
+                    : Optional.of(taskIds.remove(random.nextInt(taskIds.size())));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package hexlet.code.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and outcomes per endpoint of a load run, kept in HdrHistograms of microseconds with three
+ * significant digits, so the tail percentiles are exact enough to compare between runs.
+ * The report is printed as a table and written as JSON; given the JSON of an earlier run,
+ * the table shows how throughput and percentiles moved since.
+ */
+final class LatencyReport {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final Map<String, Double> PERCENTILES = Map.of("p50", 50.0, "p90", 90.0, "p99", 99.0,
+            "p999", 99.9);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(final String endpoint, final long latencyNanos, final boolean success) {
+        final Endpoint stats = endpoint(endpoint);
+        stats.histogram.recordValue(Math.max(TimeUnit.NANOSECONDS.toMicros(latencyNanos), 1));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    // arrivals the generator could not send because too many requests were already waiting
+    void dropped(final String endpoint) {
+        endpoint(endpoint).dropped.increment();
+    }
+
+    // arrivals that had nothing to act on, an update or a delete with no task of the user left
+    void skipped(final String endpoint) {
+        endpoint(endpoint).skipped.increment();
+    }
+
+    void print(final Duration measured, final JsonNode baseline) {
+        System.out.printf("%n%-22s %8s %9s %7s %7s %9s %9s %9s %9s %9s%n", "endpoint", "count", "req/s",
+                "errors", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        summary(measured).forEach((name, summary) -> {
+            System.out.printf("%-22s %8d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                    summary.get("count").longValue(), summary.get("throughput").doubleValue(),
+                    summary.get("errors").longValue(), summary.get("dropped").longValue(),
+                    summary.get("p50").doubleValue(), summary.get("p90").doubleValue(),
+                    summary.get("p99").doubleValue(), summary.get("p999").doubleValue(),
+                    summary.get("max").doubleValue());
+            final JsonNode before = baseline == null ? null : baseline.path("endpoints").get(name);
+            if (before != null) {
+                System.out.printf("%-22s %8s %+8.1f%% %7s %7s %+8.1f%% %+8.1f%% %+8.1f%% %+8.1f%% %+8.1f%%%n",
+                        "  vs baseline", "", change(before, summary, "throughput"), "", "",
+                        change(before, summary, "p50"), change(before, summary, "p90"),
+                        change(before, summary, "p99"), change(before, summary, "p999"),
+                        change(before, summary, "max"));
+            }
+        });
+    }
+
+    void write(final Path file, final Map<String, Object> settings, final Duration measured) throws IOException {
+        final Map<String, Object> report = new LinkedHashMap<>(settings);
+        report.put("endpoints", summary(measured));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), report);
+    }
+
+    static JsonNode read(final Path file) throws IOException {
+        return MAPPER.readTree(file.toFile());
+    }
+
+    private Endpoint endpoint(final String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+    }
+
+    // endpoints in name order, latencies in milliseconds
+    private Map<String, Map<String, Number>> summary(final Duration measured) {
+        final Map<String, Map<String, Number>> summary = new LinkedHashMap<>();
+        endpoints.keySet().stream().sorted().forEach(name -> {
+            final Endpoint stats = endpoints.get(name);
+            final Histogram histogram = stats.histogram.copy();
+            final Map<String, Number> values = new LinkedHashMap<>();
+            values.put("count", histogram.getTotalCount());
+            values.put("throughput", histogram.getTotalCount() / (measured.toMillis() / MICROS_PER_MILLI));
+            values.put("errors", stats.errors.sum());
+            values.put("dropped", stats.dropped.sum());
+            values.put("skipped", stats.skipped.sum());
+            values.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+            PERCENTILES.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .forEach(percentile -> values.put(percentile.getKey(),
+                            histogram.getValueAtPercentile(percentile.getValue()) / MICROS_PER_MILLI));
+            values.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+            summary.put(name, values);
+        });
+        return summary;
+    }
+
+    private static double change(final JsonNode before, final Map<String, Number> now, final String field) {
+        final double previous = before.path(field).asDouble();
+        return previous == 0 ? 0 : (now.get(field).doubleValue() - previous) / previous * 100;
+    }
+
+    private static final class Endpoint {
+        private final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+}
@@ -0,0 +1,243 @@
+package hexlet.code.load;
+
+import hexlet.code.AppApplication;
+import hexlet.code.component.DatasetGenerator;
+import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.AuthenticatedUser;
+import hexlet.code.model.User;
+import hexlet.code.repository.UserRepository;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares platform-thread and virtual-thread request handling on the same generated dataset and request mix.
+ * Each mode gets a fresh application on an in-memory H2 whose statements are delayed by a simulated network
+ * round trip, so requests spend their time blocked on JDBC as they do against a remote database.
+ * Clients form a closed model: every client sends its next request as soon as the previous one completes.
+ * Tune with -Dload.tasks, load.concurrency, load.requests, load.warmup, load.db-latency-ms, load.pool-size,
+ * load.tomcat-threads and load.seed; the same seed gives the same dataset and the same requests.
+ */
+@Tag("load")
+public class ThreadModeLoadTest {
+    private static final int TASKS = Integer.getInteger("load.tasks", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20000);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 2000);
+    private static final int DB_LATENCY_MS = Integer.getInteger("load.db-latency-ms", 2);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 50);
+    private static final int TOMCAT_THREADS = Integer.getInteger("load.tomcat-threads", 200);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final int PAGE_SIZE = 20;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        final Result platform = run(false);
+        final Result virtual = run(true);
+
+        System.out.printf("%nThread mode comparison: %d tasks, %d clients, %d requests, %d ms per statement, "
+                        + "pool of %d, %d Tomcat threads%n",
+                TASKS, CONCURRENCY, REQUESTS, DB_LATENCY_MS, POOL_SIZE, TOMCAT_THREADS);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %8d%n", result.mode, result.throughput(),
+                    result.percentile(0.5), result.percentile(0.99), result.percentile(1), result.errors);
+        }
+        assertThat(platform.errors).isZero();
+        assertThat(virtual.errors).isZero();
+    }
+
+    private static Result run(final boolean virtualThreads) throws Exception {
+        final String mode = virtualThreads ? "virtual" : "platform";
+        // command line arguments, unlike default properties, win over application.yml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AppApplication.class)
+                .initializers(applicationContext -> {
+                    applicationContext.addBeanFactoryPostProcessor(new WithoutTestUtils());
+                    applicationContext.getBeanFactory().addBeanPostProcessor(new DelayingDataSourcePostProcessor());
+                })
+                .run(
+                        "--server.port=0",
+                        "--base-url=/api",
+                        "--tasks.virtual-threads.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.jpa.show-sql=false",
+                        "--tasks.cache.enabled=false")) {
+            final List<Long> taskIds = seed(context);
+            final int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            final List<URI> requests = requestMix("http://localhost:" + port + "/api", taskIds);
+            final String token = tokenOf(context, "user0@example.com");
+            drive(requests.subList(0, Math.min(WARMUP, requests.size())), token, new long[WARMUP]);
+            final long[] latencies = new long[requests.size()];
+            final long start = System.nanoTime();
+            final int errors = drive(requests, token, latencies);
+            return new Result(mode, latencies, System.nanoTime() - start, errors);
+        }
+    }
+
+    // same seed, same dataset: the generator's statuses, users and labels, tasks spread over them
+    private static List<Long> seed(final ConfigurableApplicationContext context) {
+        final DatasetGenerator.Spec spec = new DatasetGenerator.Spec();
+        spec.setSeed(SEED);
+        spec.setTasks(TASKS);
+        context.getBean(DatasetGenerator.class).generate(spec);
+        return context.getBean(JdbcTemplate.class).queryForList("select id from task order by id", Long.class);
+    }
+
+    private static String tokenOf(final ConfigurableApplicationContext context, final String email) {
+        final User user = context.getBean(UserRepository.class).findByEmail(email).orElseThrow();
+        return context.getBean(JWTHelper.class).expiring(new HashMap<>(AuthenticatedUser.of(user).toClaims()));
+    }
+
+    // pages of the list, single tasks and statuses, in a fixed order
+    private static List<URI> requestMix(final String baseUrl, final List<Long> taskIds) {
+        final Random random = new Random(SEED);
+        final List<URI> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            final int kind = random.nextInt(10);
+            if (kind < 5) {
+                final int page = random.nextInt(Math.max(TASKS / PAGE_SIZE, 1));
+                requests.add(URI.create(baseUrl + "/tasks?page=" + page + "&size=" + PAGE_SIZE));
+            } else if (kind < 9) {
+                requests.add(URI.create(baseUrl + "/tasks/" + taskIds.get(random.nextInt(taskIds.size()))));
+            } else {
+                requests.add(URI.create(baseUrl + "/statuses"));
+            }
+        }
+        return requests;
+    }
+
+    private static int drive(final List<URI> requests, final String token, final long[] latencies)
+            throws Exception {
+        final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests.size(); i = next.getAndIncrement()) {
+                        final HttpRequest request = HttpRequest.newBuilder(requests.get(i))
+                                .header(HttpHeaders.AUTHORIZATION, token)
+                                .GET()
+                                .build();
+                        final long start = System.nanoTime();
+                        try {
+                            final HttpResponse<Void> response =
+                                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                });
+            }
+        }
+        return errors.get();
+    }
+
+    private static final class Result {
+        private final String mode;
+        private final long[] latencies;
+        private final long elapsedNanos;
+        private final int errors;
+
+        Result(final String mode, final long[] latencies, final long elapsedNanos, final int errors) {
+            this.mode = mode;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+            this.elapsedNanos = elapsedNanos;
+            this.errors = errors;
+        }
+
+        double throughput() {
+            return latencies.length / (elapsedNanos / (NANOS_PER_MILLI * 1000));
+        }
+
+        double percentile(final double quantile) {
+            final int index = (int) Math.ceil(quantile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / NANOS_PER_MILLI;
+        }
+    }
+
+    // the component scan of a full application picks up the MockMvc helper of the integration tests
+    private static final class WithoutTestUtils implements BeanFactoryPostProcessor {
+        @Override
+        public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+            ((BeanDefinitionRegistry) beanFactory).removeBeanDefinition("testUtils");
+        }
+    }
+
+    /**
+     * Delays every statement execution by the simulated round trip. The delay happens outside the driver,
+     * so it blocks the calling thread the way waiting on a socket does.
+     */
+    private static final class DelayingDataSourcePostProcessor implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+            if (!(bean instanceof DataSource dataSource) || DB_LATENCY_MS == 0) {
+                return bean;
+            }
+            return proxy(DataSource.class, dataSource);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(final Class<T> type, final T target) {
+            final InvocationHandler handler = (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(DB_LATENCY_MS);
+                }
+                final Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return proxy(PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement) {
+                    return proxy(Statement.class, statement);
+                }
+                if (result instanceof Connection connection) {
+                    return proxy(Connection.class, connection);
+                }
+                return result;
+            };
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+}
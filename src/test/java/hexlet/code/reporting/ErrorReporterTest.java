@@ -0,0 +1,65 @@
+package hexlet.code.reporting;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorReporterTest {
+
+    @Test
+    void testDuplicatesAreSuppressed() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StubErrorTransport transport = new StubErrorTransport();
+        ErrorReporter reporter = new ErrorReporter(transport, meterRegistry, 10, 10, Duration.ofMinutes(1));
+
+        RuntimeException repeated = new IllegalStateException("repeated");
+        for (int i = 0; i < 3; i++) {
+            reporter.report(repeated, "GET /tasks");
+        }
+        reporter.report(new IllegalArgumentException("other"), "GET /tasks");
+
+        List<ErrorReport> sent = awaitSent(transport, 2);
+        assertThat(sent).extracting(ErrorReport::getError).containsExactly(repeated, sent.get(1).getError());
+        assertThat(meterRegistry.counter("errors.reporting.suppressed").count()).isEqualTo(2);
+        reporter.shutdown();
+    }
+
+    @Test
+    void testReportsAreDroppedWhenQueueIsFull() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ErrorReporter reporter = new ErrorReporter(reports -> {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, meterRegistry, 1, 10, Duration.ofMinutes(1));
+
+        reporter.report(new IllegalStateException("first"), "GET /tasks");
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        reporter.report(new IllegalStateException("queued"), "GET /tasks");
+        reporter.report(new IllegalStateException("dropped"), "GET /tasks");
+
+        assertThat(meterRegistry.counter("errors.reporting.dropped").count()).isEqualTo(1);
+        release.countDown();
+        reporter.shutdown();
+    }
+
+    private static List<ErrorReport> awaitSent(StubErrorTransport transport, int expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (transport.getSent().size() >= expected) {
+                return transport.getSent();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Reports were not sent in time");
+    }
+}
@@ -0,0 +1,24 @@
+package hexlet.code.reporting;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps sent reports in memory instead of sending them anywhere.
+ */
+public class StubErrorTransport implements ErrorTransport {
+    private final List<ErrorReport> sent = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(final List<ErrorReport> reports) {
+        sent.addAll(reports);
+    }
+
+    public List<ErrorReport> getSent() {
+        return List.copyOf(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package hexlet.code.repository;
+
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_1;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_2;
+import static hexlet.code.utils.TestUtils.DEFAULT_USER_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class)
+public class TaskRepositoryCustomImplIT {
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        testUtils.addUser(DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_1, DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_2, DEFAULT_USER_1);
+    }
+
+    @AfterEach
+    void afterEach() {
+        testUtils.clear();
+    }
+
+    @Test
+    void testFirstPerStatusReadsOnlyTheWindowOfEveryStatus() throws Exception {
+        List<Long> statusIds = taskStatusRepository.findAll().stream().map(TaskStatus::getId).sorted().toList();
+        for (int i = 0; i < 12; i++) {
+            testUtils.addTaskUnderUser(new TaskDto("first" + i, "desc", statusIds.get(0), null, List.of()),
+                    DEFAULT_USER_1);
+        }
+        for (int i = 0; i < 8; i++) {
+            testUtils.addTaskUnderUser(new TaskDto("second" + i, "desc", statusIds.get(1), null, List.of()),
+                    DEFAULT_USER_1);
+        }
+        int limit = 3;
+
+        List<TaskView> tasks = taskRepository.findFirstViewsPerStatus(statusIds, limit);
+        assertThat(tasks).extracting(TaskView::getName)
+                .containsExactly("first0", "first1", "first2", "second0", "second1", "second2");
+
+        // H2 reports how many index rows every branch read: no more than the window, whatever the table holds
+        String plan = jdbcTemplate.queryForObject(
+                "explain analyze " + TaskRepositoryCustomImpl.firstPerStatusSql(statusIds, limit), String.class);
+        Matcher scanCounts = SCAN_COUNT.matcher(plan);
+        int branches = 0;
+        while (scanCounts.find()) {
+            assertThat(Integer.parseInt(scanCounts.group(1))).isLessThanOrEqualTo(limit);
+            branches++;
+        }
+        assertThat(branches).isEqualTo(statusIds.size());
+        assertThat(plan).contains("IDX_TASK_STATUS_CREATED_AT_ID");
+    }
+}
@@ -0,0 +1,112 @@
+package hexlet.code.service;
+
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.TaskCounter;
+import hexlet.code.model.TaskCounterId;
+import hexlet.code.model.TaskCounterId.Dimension;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskCounterRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.DEFAULT_TASK_STATUS_1;
+import static hexlet.code.utils.TestUtils.DEFAULT_USER_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Counters of new statuses, executors and labels under a pool smaller than the number of writers:
+ * a task write must not need a second connection, or the writers starve each other until the pool times out.
+ */
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class, properties = {
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=1000"
+})
+public class TaskCounterServiceIT {
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        testUtils.addUser(DEFAULT_USER_1);
+        testUtils.addTaskStatusUnderUser(DEFAULT_TASK_STATUS_1, DEFAULT_USER_1);
+        for (int i = 0; i < WRITERS; i++) {
+            testUtils.addLabelUnderUser(new LabelDto("label" + i), DEFAULT_USER_1);
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        testUtils.clear();
+    }
+
+    @Test
+    void testConcurrentWritersWithNewCountersShareASmallPool() throws Exception {
+        Long statusId = taskStatusRepository.findAll().get(0).getId();
+        Long executorId = userRepository.findAll().get(0).getId();
+        List<Long> labelIds = labelRepository.findAll().stream().map(Label::getId).toList();
+        assertThat(taskCounterRepository.findAll()).extracting(TaskCounter::getTaskCount).containsOnly(0L);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService writers = Executors.newFixedThreadPool(WRITERS)) {
+            for (Long labelId : labelIds) {
+                statuses.add(writers.submit(() -> {
+                    start.await();
+                    TaskDto taskDto = new TaskDto("task" + labelId, "desc", statusId, executorId, List.of(labelId));
+                    return testUtils.addTaskUnderUser(taskDto, DEFAULT_USER_1).andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+        }
+
+        for (Future<Integer> status : statuses) {
+            assertThat(status.get()).isEqualTo(201);
+        }
+        assertThat(countOf(Dimension.STATUS, statusId)).isEqualTo(WRITERS);
+        assertThat(countOf(Dimension.EXECUTOR, executorId)).isEqualTo(WRITERS);
+        for (Long labelId : labelIds) {
+            assertThat(countOf(Dimension.LABEL, labelId)).isEqualTo(1);
+        }
+    }
+
+    private long countOf(Dimension dimension, Long refId) {
+        return taskCounterRepository.findById(new TaskCounterId(dimension, refId)).orElseThrow().getTaskCount();
+    }
+}
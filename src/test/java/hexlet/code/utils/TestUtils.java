@@ -1,5 +1,6 @@
 package hexlet.code.utils;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,9 +11,13 @@ import hexlet.code.dto.TaskDto;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.dto.UserDto;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskCounterRepository;
+import hexlet.code.repository.TaskHistoryRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.TaskTombstoneRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -21,6 +26,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.AuthenticatedUser;
 import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
 import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
 import static hexlet.code.controller.TaskStatusController.STATUS_CONTROLLER_PATH;
@@ -51,6 +57,18 @@ public class TestUtils {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+
     public static final UserDto DEFAULT_USER_1 = new UserDto(
             "defFirstName1",
             "defLastName1",
@@ -129,14 +147,26 @@ public class TestUtils {
         userRepository.deleteAll();
         taskStatusRepository.deleteAll();
         labelRepository.deleteAll();
+        taskCounterRepository.deleteAll();
+        taskTombstoneRepository.deleteAll();
+        taskHistoryRepository.deleteAll();
+        // brings back the counter of tasks without executor, as at startup
+        taskCounterService.reconcile();
     }
 
     public ResultActions performWithToken(MockHttpServletRequestBuilder req, UserDto userDto) throws Exception {
-        String token = jwtHelper.expiring(Map.of(SPRING_USER_USERNAME, userDto.getEmail()));
-        req.header(HttpHeaders.AUTHORIZATION, token);
+        req.header(HttpHeaders.AUTHORIZATION, tokenOf(userDto));
         return performWithoutToken(req);
     }
 
+    // a token of a user that is not in the database carries no id, and the app answers it with 401
+    public String tokenOf(UserDto userDto) {
+        Map<String, Object> claims = new HashMap<>(Map.of(SPRING_USER_USERNAME, userDto.getEmail()));
+        userRepository.findByEmail(userDto.getEmail())
+                .ifPresent(user -> claims.putAll(AuthenticatedUser.of(user).toClaims()));
+        return jwtHelper.expiring(claims);
+    }
+
     public ResultActions performWithoutToken(MockHttpServletRequestBuilder req) throws Exception {
         return mockMvc.perform(req);
     }